@@ -1,9 +1,31 @@
 package com.kdocke.fastjson;
 
 import com.kdocke.fastjson.parser.DefaultJSONParser;
+import com.kdocke.fastjson.parser.IndexedJSONParser;
+import com.kdocke.fastjson.parser.JSONByteBufferScanner;
+import com.kdocke.fastjson.parser.JSONVisitor;
+import com.kdocke.fastjson.parser.LazyJSONParser;
 import com.kdocke.fastjson.parser.ParserConfig;
+import com.kdocke.fastjson.parser.Projection;
 import com.kdocke.fastjson.serializer.JSONSerializer;
+import com.kdocke.fastjson.serializer.ResumableJSONSerializer;
 import com.kdocke.fastjson.serializer.SerializeWriter;
+import com.kdocke.fastjson.serializer.SerializerFeature;
+import com.kdocke.fastjson.serializer.UTF8SerializeWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Json 解析类，里面包含了主要的 Json 解析方法
@@ -48,6 +70,387 @@ public class JSON implements JSONAware {
         return value;
     }
 
+    /**
+     * 懒加载解析: 对象和数组只建立第一层的索引, 子对象、子数组和字符串第一次被访问时才扫描
+     * @param text json串
+     * @return LazyJSONObject、LazyJSONArray 或者基本类型的值
+     */
+    public static Object parseLazy(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        return LazyJSONParser.parse(text, DEFAULT_PARSER_FEATURE);
+    }
+
+    /**
+     * 解析为扁平的纸带表示, 不创建 Map、List 和包装类型
+     * @param text json串
+     * @return
+     */
+    public static JSONTape parseTape(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        JSONTape.Builder builder = new JSONTape.Builder();
+        parse(text, builder);
+        return builder.build();
+    }
+
+    /**
+     * 把 UTF-8 编码的 JSON 字节解析为纸带表示
+     * @param input json 字节
+     * @return
+     */
+    public static JSONTape parseTape(byte[] input) {
+        if (input == null) {
+            return null;
+        }
+
+        JSONTape.Builder builder = new JSONTape.Builder();
+        parse(input, builder);
+        return builder.build();
+    }
+
+    /**
+     * 解析为纸带并保存到堆外内存中, 适合长期驻留的文档;
+     * 解析过程中纸带直接写到直接内存里, 不在堆上生成中间结果; 文档在 arena 关闭时释放, 不会增加 GC 的负担
+     * @param text json串
+     * @param arena 堆外内存区域
+     * @return
+     */
+    public static JSONTape parseTape(String text, JSONArena arena) {
+        if (text == null) {
+            return null;
+        }
+
+        OffHeapJSONTape.Builder builder = new OffHeapJSONTape.Builder(arena, text.length());
+        try {
+            parse(text, builder);
+            return builder.build();
+        } finally {
+            builder.release();
+        }
+    }
+
+    /**
+     * 把 UTF-8 编码的 JSON 字节解析为纸带并保存到堆外内存中
+     * @param input json 字节
+     * @param arena 堆外内存区域
+     * @return
+     */
+    public static JSONTape parseTape(byte[] input, JSONArena arena) {
+        if (input == null) {
+            return null;
+        }
+
+        OffHeapJSONTape.Builder builder = new OffHeapJSONTape.Builder(arena, input.length);
+        try {
+            parse(input, builder);
+            return builder.build();
+        } finally {
+            builder.release();
+        }
+    }
+
+    /**
+     * 只解析投影中的路径, 其余字段在词法分析阶段直接跳过
+     * @param text json串
+     * @param projection 字段投影, 例如 Projection.of("user.id", "items[*].sku")
+     * @return
+     */
+    public static Object parse(String text, Projection projection) {
+        if (text == null) {
+            return null;
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(text, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+        parser.setProjection(projection);
+        Object value = parser.parse();
+
+        parser.close();
+
+        return value;
+    }
+
+    /**
+     * 只解析 UTF-8 编码的 JSON 字节中投影选中的路径
+     * @param input json 字节
+     * @param projection 字段投影
+     * @return
+     */
+    public static Object parse(byte[] input, Projection projection) {
+        if (input == null) {
+            return null;
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(input, 0, input.length, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+        parser.setProjection(projection);
+        Object value = parser.parse();
+
+        parser.close();
+
+        return value;
+    }
+
+    /**
+     * 以事件的方式遍历 JSON 文本, 不构造 JSONObject / JSONArray, 数字不装箱
+     * @param text json串
+     * @param visitor 回调
+     */
+    public static void parse(String text, JSONVisitor visitor) {
+        if (text == null) {
+            return;
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(text, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+        parser.accept(visitor);
+
+        parser.close();
+    }
+
+    /**
+     * 以事件的方式遍历 UTF-8 编码的 JSON 字节
+     * @param input json 字节
+     * @param visitor 回调
+     */
+    public static void parse(byte[] input, JSONVisitor visitor) {
+        if (input == null) {
+            return;
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(input, 0, input.length, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+        parser.accept(visitor);
+
+        parser.close();
+    }
+
+    /**
+     * 把 UTF-8 编码的 JSON 字节 parse 为 JSONObject 或者 JSONArray
+     * @param input json 字节
+     * @return
+     */
+    public static Object parse(byte[] input) {
+        return parse(input, 0, input.length);
+    }
+
+    /**
+     * 把 UTF-8 编码的 JSON 字节 parse 为 JSONObject 或者 JSONArray,
+     * 可以只解析一个大缓冲区中的一段
+     * @param input json 字节
+     * @param off 起始位置
+     * @param len 字节长度
+     * @return
+     */
+    public static Object parse(byte[] input, int off, int len) {
+        return parse(input, off, len, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+    }
+
+    public static Object parse(byte[] input, int off, int len, ParserConfig config, int features) {
+        if (input == null) {
+            return null;
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(input, off, len, config, features);
+        Object value = parser.parse();
+
+        parser.close();
+
+        return value;
+    }
+
+    /**
+     * 两阶段解析 UTF-8 编码的 JSON 字节: 先建立结构索引, 再按索引构造 JSONObject 或者 JSONArray
+     * @param input json 字节
+     * @return
+     */
+    public static Object parseIndexed(byte[] input) {
+        return parseIndexed(input, 0, input.length);
+    }
+
+    public static Object parseIndexed(byte[] input, int off, int len) {
+        if (input == null) {
+            return null;
+        }
+
+        IndexedJSONParser parser = new IndexedJSONParser(input, off, len, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+        Object value = parser.parse();
+
+        parser.close();
+
+        return value;
+    }
+
+    /**
+     * 从 Reader 中流式读取并 parse 为 JSONObject 或者 JSONArray, 读取完成后会关闭 reader
+     * @param reader json 输入流
+     * @return
+     */
+    public static Object parse(Reader reader) {
+        return parse(reader, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+    }
+
+    /**
+     * 从 InputStream 中按指定字符集流式读取并 parse, 读取完成后会关闭输入流
+     * @param in json 输入流
+     * @param charset 字符集
+     * @return
+     */
+    public static Object parse(InputStream in, Charset charset) {
+        return parse(new InputStreamReader(in, charset), ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+    }
+
+    public static Object parse(Reader reader, ParserConfig config, int features) {
+        if (reader == null) {
+            return null;
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(reader, config, features);
+        Object value = parser.parse();
+
+        parser.close();
+
+        return value;
+    }
+
+    /**
+     * 把 UTF-8 编码的 ByteBuffer parse 为 JSONObject 或者 JSONArray,
+     * 解析 position 到 limit 之间的内容, 不会修改 buffer 的 position
+     * @param buffer json 字节, 可以是堆外内存
+     * @return
+     */
+    public static Object parse(ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+
+        if (buffer.hasArray()) {
+            /** 堆内 buffer 直接扫描底层数组 */
+            return parse(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(buffer, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE);
+        Object value = parser.parse();
+
+        parser.close();
+
+        return value;
+    }
+
+    /**
+     * 把 UTF-8 编码的 JSON 文件 parse 为 JSONObject 或者 JSONArray,
+     * 文件按窗口映射到内存, 不会先读取成 byte[] 或 String
+     * @param path json 文件
+     * @return
+     */
+    public static Object parse(Path path) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+
+        DefaultJSONParser parser;
+        Object value;
+        try {
+            parser = new DefaultJSONParser(path, new JSONByteBufferScanner(channel, DEFAULT_PARSER_FEATURE), ParserConfig.getGlobalInstance());
+            value = parser.parse();
+        } catch (RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 保留原始异常
+            }
+            throw e;
+        }
+
+        /** 关闭 parser 时同时关闭文件 */
+        parser.close();
+
+        return value;
+    }
+
+    /**
+     * 将 object 序列化成 json 字符串
+     * @param object
+     * @param features 序列化特性, 例如字符串的转义方式
+     * @return
+     */
+    public static String toJSONString(Object object, SerializerFeature... features) {
+        SerializeWriter out = new SerializeWriter((Writer) null, DEFAULT_GENERATE_FEATURE, features);
+        try {
+            new JSONSerializer(out).write(object);
+            return out.toString();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * 将 object 序列化成 UTF-8 字节, 直接编码, 不经过 String
+     * @param object
+     * @param features 序列化特性
+     * @return
+     */
+    public static byte[] toJSONBytes(Object object, SerializerFeature... features) {
+        UTF8SerializeWriter out = new UTF8SerializeWriter((OutputStream) null, DEFAULT_GENERATE_FEATURE, features);
+        try {
+            new JSONSerializer(out).write(object);
+            return out.toBytes();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * 将 object 按 UTF-8 序列化到输出流, 写满一个缓冲段就输出一次, 不关闭输出流
+     * @param object
+     * @param os
+     */
+    public static void writeTo(Object object, OutputStream os) {
+        UTF8SerializeWriter out = new UTF8SerializeWriter(os);
+        try {
+            new JSONSerializer(out).write(object);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * 将 object 按 UTF-8 分段序列化到 channel, 每次生成一个缓冲区的内容就写出, 不生成完整的 JSON;
+     * channel 需要是阻塞模式, 非阻塞的 SelectableChannel 直接拒绝, 写操作没有写出任何字节时抛出 JSONException
+     * (非阻塞时应当用 ResumableJSONSerializer 配合 Selector 自己控制写出), 不关闭 channel
+     * @param object
+     * @param channel
+     */
+    public static void writeTo(Object object, WritableByteChannel channel) {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("channel is in non-blocking mode");
+        }
+
+        ResumableJSONSerializer serializer = new ResumableJSONSerializer(object);
+        ByteBuffer buffer = ByteBuffer.allocate(UTF8SerializeWriter.SEGMENT_SIZE);
+        try {
+            boolean done;
+            do {
+                done = serializer.fill(buffer);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    if (channel.write(buffer) == 0) {
+                        throw new JSONException("channel write made no progress, remaining " + buffer.remaining());
+                    }
+                }
+                buffer.clear();
+            } while (!done);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        } finally {
+            serializer.close();
+        }
+    }
+
     public String toString() {
         return toJSONString();
     }
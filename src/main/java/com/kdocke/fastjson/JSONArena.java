@@ -0,0 +1,162 @@
+package com.kdocke.fastjson;
+
+import java.io.Closeable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 堆外内存区域
+ * 从直接内存中按块分配, 在这个区域中解析的文档不占用 java 堆, GC 不需要扫描;
+ * 调用 close 后一次性释放所有的块, 之后再访问其中的文档会抛出 JSONException。
+ *
+ * close 需要在不再有线程访问其中的文档之后调用。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:31
+ */
+public class JSONArena implements Closeable {
+
+    public final static int        DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final int              chunkSize;
+    private final List<ByteBuffer> chunks             = new ArrayList<ByteBuffer>();
+
+    /**
+     * 当前块, 小的分配从这里切出
+     */
+    private ByteBuffer             chunk;
+
+    private long                   allocated;
+
+    private volatile boolean       closed;
+
+    public JSONArena(){
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public JSONArena(int chunkSize){
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize : " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 分配一段堆外内存, 8 字节对齐, 字节序为本地字节序;
+     * close 之后这段内存就被释放了, 只交给访问前会检查 checkOpen 的 OffHeapJSONTape, 不对外公开
+     * @param size 字节数
+     * @return
+     */
+    synchronized ByteBuffer allocate(int size) {
+        checkOpen();
+
+        int aligned = (size + 7) & ~7;
+        ByteBuffer buffer;
+        if (aligned > chunkSize / 4) {
+            /** 大的分配单独占一个块, 避免浪费当前块的剩余空间 */
+            buffer = newChunk(aligned);
+        } else {
+            if (chunk == null || chunk.remaining() < aligned) {
+                chunk = newChunk(chunkSize);
+            }
+            buffer = chunk;
+        }
+
+        int position = buffer.position();
+        buffer.limit(position + size);
+        ByteBuffer slice = buffer.slice().order(ByteOrder.nativeOrder());
+        buffer.limit(buffer.capacity());
+        buffer.position(position + aligned);
+
+        allocated += size;
+        return slice;
+    }
+
+    private ByteBuffer newChunk(int size) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        chunks.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * 已经分配的字节数
+     */
+    public synchronized long allocated() {
+        return allocated;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    final void checkOpen() {
+        if (closed) {
+            throw new JSONException("arena closed");
+        }
+    }
+
+    /**
+     * 释放所有的块, 重复调用没有影响
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (ByteBuffer buffer : chunks) {
+            free(buffer);
+        }
+        chunks.clear();
+        chunk = null;
+    }
+
+    private static Object unsafe;
+    private static Method invokeCleaner;
+    private static Method cleaner;
+    private static Method clean;
+
+    static {
+        try {
+            /** java 9 以后通过 Unsafe.invokeCleaner 释放 */
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method method = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = method;
+        } catch (Throwable e) {
+            try {
+                /** java 8 通过 DirectByteBuffer.cleaner().clean() 释放 */
+                Class<?> directClass = Class.forName("java.nio.DirectByteBuffer");
+                Method method = directClass.getMethod("cleaner");
+                method.setAccessible(true);
+                clean = method.getReturnType().getMethod("clean");
+                cleaner = method;
+            } catch (Throwable ignored) {
+                // 无法主动释放时由 GC 回收
+            }
+        }
+    }
+
+    /**
+     * 立即释放直接内存, 无法释放时等待 GC 回收
+     */
+    static void free(ByteBuffer buffer) {
+        try {
+            if (invokeCleaner != null) {
+                invokeCleaner.invoke(unsafe, buffer);
+            } else if (cleaner != null) {
+                Object bufferCleaner = cleaner.invoke(buffer);
+                if (bufferCleaner != null) {
+                    clean.invoke(bufferCleaner);
+                }
+            }
+        } catch (Throwable ignored) {
+            // 等待 GC 回收
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.kdocke.fastjson;
+
+import java.math.BigDecimal;
+
+/**
+ * 延迟转换的数字, 保存 JSON 中的数字文本,
+ * 第一次读取 long / double / BigDecimal 时才转换, 并缓存转换结果。
+ * 缓存的是不可变对象 (Long、Double、BigDecimal), 和 BigDecimal 缓存 toString 的方式一样:
+ * 多个线程同时读取时最多重复转换, 不会读到没有初始化完的值, 所以可以在线程之间共享
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:47
+ */
+public final class JSONNumber extends Number implements Comparable<JSONNumber> {
+
+    private static final long   serialVersionUID = 1L;
+
+    /**
+     * 数字文本, 不包括类型后缀
+     */
+    private final String        text;
+
+    private transient Long       longValue;
+    private transient Double     doubleValue;
+    private transient BigDecimal decimalValue;
+
+    public JSONNumber(String text){
+        if (text == null || text.isEmpty()) {
+            throw new NumberFormatException("empty number");
+        }
+        this.text = text;
+    }
+
+    /**
+     * 是否是整数文本, 即没有小数点和指数
+     */
+    public boolean isInteger() {
+        for (int i = 0; i < text.length(); ++i) {
+            char ch = text.charAt(i);
+            if (ch == '.' || ch == 'e' || ch == 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    public long longValue() {
+        Long value = longValue;
+        if (value == null) {
+            /** 不超过 18 位的整数一定在 long 范围内 */
+            if (text.length() <= 18 && isInteger()) {
+                value = Long.parseLong(text);
+            } else {
+                value = decimalValue().longValue();
+            }
+            longValue = value;
+        }
+        return value;
+    }
+
+    public float floatValue() {
+        return Float.parseFloat(text);
+    }
+
+    public double doubleValue() {
+        Double value = doubleValue;
+        if (value == null) {
+            doubleValue = value = Double.parseDouble(text);
+        }
+        return value;
+    }
+
+    public BigDecimal decimalValue() {
+        BigDecimal value = decimalValue;
+        if (value == null) {
+            decimalValue = value = new BigDecimal(text);
+        }
+        return value;
+    }
+
+    public int compareTo(JSONNumber o) {
+        return decimalValue().compareTo(o.decimalValue());
+    }
+
+    /**
+     * 数值相等即相等, 1.0 和 1 相等
+     */
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof JSONNumber)) {
+            return false;
+        }
+        return compareTo((JSONNumber) obj) == 0;
+    }
+
+    public int hashCode() {
+        BigDecimal value = decimalValue();
+        return value.signum() == 0 ? 0 : value.stripTrailingZeros().hashCode();
+    }
+
+    /**
+     * 原始的数字文本
+     */
+    public String toString() {
+        return text;
+    }
+}
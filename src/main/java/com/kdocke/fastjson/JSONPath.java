@@ -0,0 +1,942 @@
+package com.kdocke.fastjson;
+
+import com.kdocke.fastjson.parser.ParserConfig;
+import com.kdocke.fastjson.parser.SymbolTable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.kdocke.fastjson.parser.JSONToken.LBRACE;
+import static com.kdocke.fastjson.parser.JSONToken.LBRACKET;
+
+/**
+ * JSONPath
+ * 支持的语法:
+ * <pre>
+ * $.store.book         属性
+ * $['store']['book']   属性
+ * $.book[0]            数组下标
+ * $.book[*]  $.book.*  所有元素
+ * $.book[?(@.price > 10)]      过滤, 支持 == != > >= < <= 和 [?(@.isbn)]
+ * $..price             递归查找
+ * </pre>
+ * 也支持 RFC 6901 JSON Pointer, 见 compilePointer。
+ *
+ * 可以在 JSONReader 上流式求值: 多个路径一次扫描完成, 只有命中的值才会被构造,
+ * 没有命中可能的子树直接由词法分析器跳过; 全部都是确定路径(只有属性和下标)时, 全部找到后立即停止读取。
+ * 也可以在已经解析好的 JSONObject / JSONArray 上求值, 见 eval。
+ *
+ * 编译后的 JSONPath 不可变, 可以被多个线程同时使用; 属性名在编译时从解析器的 SymbolTable 中取出,
+ * 和解析得到的 key 是同一个 String 实例, 查找时 equals 直接命中引用比较。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:23
+ */
+public class JSONPath {
+
+    /**
+     * JSONPath.eval(Object, String) 使用的编译缓存
+     */
+    private final static int                              CACHE_SIZE = 1024;
+    private final static ConcurrentMap<String, JSONPath> pathCache  = new ConcurrentHashMap<String, JSONPath>(128, 0.75f, 1);
+
+    private final String    path;
+    private final Segment[] segments;
+
+    /**
+     * 是否为确定路径: 只包含属性和非负下标, 最多命中一个值
+     */
+    private final boolean   definite;
+
+    private JSONPath(String path, Segment[] segments){
+        this.path = path;
+        this.segments = segments;
+
+        boolean definite = true;
+        for (Segment segment : segments) {
+            if (!(segment instanceof PropertySegment || segment instanceof PointerSegment
+                    || segment instanceof IndexSegment && ((IndexSegment) segment).index >= 0)) {
+                definite = false;
+                break;
+            }
+        }
+        this.definite = definite;
+    }
+
+    /**
+     * 编译路径
+     * @param path 路径表达式
+     * @return
+     */
+    public static JSONPath compile(String path) {
+        if (path == null || path.length() == 0) {
+            throw new JSONException("illegal jsonpath : " + path);
+        }
+        return new JSONPath(path, new JSONPathParser(path).parse());
+    }
+
+    /**
+     * 编译 RFC 6901 JSON Pointer, 例如 "/orders/0/sku", "~1" 表示 '/', "~0" 表示 '~'
+     * @param pointer 空字符串表示整个文档
+     * @return
+     */
+    public static JSONPath compilePointer(String pointer) {
+        if (pointer == null || pointer.length() != 0 && pointer.charAt(0) != '/') {
+            throw new JSONException("illegal json pointer : " + pointer);
+        }
+
+        List<Segment> segments = new ArrayList<Segment>();
+        for (int start = 1; start <= pointer.length();) {
+            int end = pointer.indexOf('/', start);
+            if (end == -1) {
+                end = pointer.length();
+            }
+
+            String token = pointer.substring(start, end);
+            if (token.indexOf('~') != -1) {
+                StringBuilder buf = new StringBuilder(token.length());
+                for (int i = 0; i < token.length(); ++i) {
+                    char ch = token.charAt(i);
+                    if (ch == '~') {
+                        char next = ++i < token.length() ? token.charAt(i) : 0;
+                        if (next == '0') {
+                            ch = '~';
+                        } else if (next == '1') {
+                            ch = '/';
+                        } else {
+                            throw new JSONException("illegal json pointer : " + pointer);
+                        }
+                    }
+                    buf.append(ch);
+                }
+                token = buf.toString();
+            }
+            segments.add(new PointerSegment(token));
+            start = end + 1;
+        }
+
+        return new JSONPath(pointer, segments.toArray(new Segment[segments.size()]));
+    }
+
+    /**
+     * 使用缓存的编译结果在节点上求值
+     * @param root 根节点
+     * @param path 路径表达式
+     * @return 同 eval(Object)
+     */
+    public static Object eval(Object root, String path) {
+        JSONPath jsonpath = pathCache.get(path);
+        if (jsonpath == null) {
+            jsonpath = compile(path);
+            if (pathCache.size() < CACHE_SIZE) {
+                pathCache.putIfAbsent(path, jsonpath);
+            }
+        }
+        return jsonpath.eval(root);
+    }
+
+    /**
+     * 在已经构造好的 JSONObject / JSONArray 上求值
+     * @param root 根节点
+     * @return 确定路径返回命中的值(没有命中时为 null), 不分配内存; 否则返回所有命中值组成的 JSONArray
+     */
+    public Object eval(Object root) {
+        if (definite) {
+            Object node = root;
+            for (Segment segment : segments) {
+                if (node == null) {
+                    return null;
+                }
+                node = segment.get(node);
+            }
+            return node;
+        }
+
+        JSONArray out = new JSONArray();
+        eval(root, 0, out);
+        return out;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isDefinite() {
+        return definite;
+    }
+
+    /**
+     * 在 json 文本上流式求值
+     * @param json json串
+     * @return 确定路径返回命中的值(没有命中时为 null), 否则返回所有命中值组成的 JSONArray
+     */
+    public Object extract(String json) {
+        return extract(new JSONReader(json), this)[0];
+    }
+
+    /**
+     * 一次扫描同时提取多个路径
+     * @param json json串
+     * @param paths 路径
+     * @return 和 paths 一一对应的结果, 含义同 extract(String)
+     */
+    public static Object[] extract(String json, JSONPath... paths) {
+        return extract(new JSONReader(json), paths);
+    }
+
+    /**
+     * 在 JSONReader 上一次扫描同时提取多个路径, 完成后关闭 reader
+     * @param reader 还没有开始读取的 reader
+     * @param paths 路径
+     * @return 和 paths 一一对应的结果, 含义同 extract(String)
+     */
+    public static Object[] extract(JSONReader reader, JSONPath... paths) {
+        Extractor extractor = new Extractor(paths);
+        try {
+            int[] states = new int[paths.length];
+            for (int i = 0; i < paths.length; ++i) {
+                states[i] = Extractor.state(i, 0, false);
+            }
+            extractor.stream(reader, states, states.length);
+        } finally {
+            reader.close();
+        }
+        return extractor.results();
+    }
+
+    /**
+     * 在已经构造好的节点上, 从第 index 个片段开始求值
+     * @param node 当前节点
+     * @param index 片段下标
+     * @param out 命中的值
+     */
+    final void eval(Object node, int index, List<Object> out) {
+        if (index == segments.length) {
+            out.add(node);
+            return;
+        }
+        segments[index].eval(this, index, node, out);
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * 流式求值
+     * 每个状态表示 "当前值需要从第 segment 个片段开始匹配第 path 个路径",
+     * 带 filter 标记时表示当前值是过滤片段的候选元素, 需要先判断过滤条件。
+     */
+    static final class Extractor {
+
+        private final JSONPath[]  paths;
+        private final JSONArray[] matches;
+
+        /**
+         * 还没有命中的确定路径个数
+         */
+        private int               definiteRemaining;
+
+        /**
+         * 非确定路径个数, 有非确定路径时需要读完整个文档
+         */
+        private int               indefinite;
+
+        Extractor(JSONPath[] paths){
+            this.paths = paths;
+            this.matches = new JSONArray[paths.length];
+            for (int i = 0; i < paths.length; ++i) {
+                matches[i] = new JSONArray();
+                if (paths[i].definite) {
+                    definiteRemaining++;
+                } else {
+                    indefinite++;
+                }
+            }
+        }
+
+        static int state(int path, int segment, boolean filter) {
+            return path << 16 | segment << 1 | (filter ? 1 : 0);
+        }
+
+        /**
+         * 按状态读取 reader 中的下一个值
+         * @return 是否已经可以停止读取
+         */
+        boolean stream(JSONReader reader, int[] states, int count) {
+            /** 路径已经走完、需要判断过滤条件、或者片段不能流式匹配时, 构造这个值再在树上求值 */
+            boolean materialize = false;
+            for (int k = 0; k < count; ++k) {
+                int state = states[k];
+                Segment[] segments = paths[state >>> 16].segments;
+                int i = state >>> 1 & 0x7FFF;
+                if (i < segments.length && segments[i] instanceof DescentSegment) {
+                    i++;
+                }
+                if ((state & 1) != 0 || i == segments.length || !segments[i].streamable()) {
+                    materialize = true;
+                    break;
+                }
+            }
+
+            if (materialize) {
+                Object value = reader.readValue();
+                for (int k = 0; k < count; ++k) {
+                    int state = states[k];
+                    int p = state >>> 16, i = state >>> 1 & 0x7FFF;
+                    JSONPath path = paths[p];
+                    int before = matches[p].size();
+
+                    if ((state & 1) == 0) {
+                        path.eval(value, i, matches[p]);
+                    } else if (((FilterSegment) path.segments[i]).accept(value)) {
+                        path.eval(value, i + 1, matches[p]);
+                    }
+
+                    if (path.definite && before == 0 && matches[p].size() > 0) {
+                        definiteRemaining--;
+                    }
+                }
+                return done();
+            }
+
+            int token = reader.peek();
+            if (token == LBRACE) {
+                int[] childStates = new int[count * 2];
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+
+                    int n = childStates(states, count, name, -1, childStates);
+                    if (n == 0) {
+                        reader.skipValue();
+                    } else if (stream(reader, childStates, n)) {
+                        return true;
+                    }
+                }
+                reader.endObject();
+            } else if (token == LBRACKET) {
+                int[] childStates = new int[count * 2];
+                reader.beginArray();
+                for (int index = 0; reader.hasNext(); ++index) {
+                    int n = childStates(states, count, null, index, childStates);
+                    if (n == 0) {
+                        reader.skipValue();
+                    } else if (stream(reader, childStates, n)) {
+                        return true;
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+
+            return false;
+        }
+
+        /**
+         * 计算子节点的状态
+         * @param name 对象的字段名, 数组元素时为 null
+         * @param index 数组下标
+         * @return 子节点的状态个数
+         */
+        private int childStates(int[] states, int count, String name, int index, int[] childStates) {
+            int n = 0;
+            for (int k = 0; k < count; ++k) {
+                int state = states[k];
+                int p = state >>> 16, i = state >>> 1 & 0x7FFF;
+                if (isSatisfied(p)) {
+                    continue;
+                }
+
+                Segment segment = paths[p].segments[i];
+                if (segment instanceof DescentSegment) {
+                    /** 子节点继续向下查找, 同时用下一个片段匹配子节点 */
+                    childStates[n++] = state;
+                    segment = paths[p].segments[++i];
+                }
+
+                if (segment instanceof FilterSegment) {
+                    childStates[n++] = state(p, i, true);
+                } else if (name != null ? segment.acceptName(name) : segment.acceptIndex(index)) {
+                    childStates[n++] = state(p, i + 1, false);
+                }
+            }
+            return n;
+        }
+
+        /**
+         * 确定路径已经命中, 不需要再匹配
+         */
+        private boolean isSatisfied(int path) {
+            return paths[path].definite && matches[path].size() > 0;
+        }
+
+        private boolean done() {
+            return definiteRemaining == 0 && indefinite == 0;
+        }
+
+        Object[] results() {
+            Object[] results = new Object[paths.length];
+            for (int i = 0; i < paths.length; ++i) {
+                if (paths[i].definite) {
+                    results[i] = matches[i].isEmpty() ? null : matches[i].get(0);
+                } else {
+                    results[i] = matches[i];
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * 路径片段
+     */
+    static abstract class Segment {
+
+        /**
+         * 是否可以流式匹配, 不能时需要先构造当前值
+         */
+        boolean streamable() {
+            return true;
+        }
+
+        /**
+         * 流式求值时, 对象的字段是否需要进入
+         */
+        boolean acceptName(String name) {
+            return false;
+        }
+
+        /**
+         * 流式求值时, 数组的元素是否需要进入
+         */
+        boolean acceptIndex(int index) {
+            return false;
+        }
+
+        /**
+         * 在节点上求值, 命中后继续匹配第 index + 1 个片段
+         */
+        abstract void eval(JSONPath path, int index, Object node, List<Object> out);
+
+        /**
+         * 确定路径的片段直接取值, 没有命中或者片段不能直接取值 (通配、过滤、递归查找) 时返回 null
+         */
+        Object get(Object node) {
+            return null;
+        }
+    }
+
+    /**
+     * 从解析器的 SymbolTable 中取出属性名, 和解析得到的 key 是同一个实例
+     */
+    static String symbol(String name) {
+        SymbolTable symbolTable = ParserConfig.getGlobalInstance().symbolTable;
+        return symbolTable.addSymbol(name, 0, name.length(), name.hashCode());
+    }
+
+    static final class PropertySegment extends Segment {
+
+        final String name;
+
+        PropertySegment(String name){
+            this.name = symbol(name);
+        }
+
+        boolean acceptName(String name) {
+            return this.name == name || this.name.equals(name);
+        }
+
+        Object get(Object node) {
+            return node instanceof Map ? ((Map<?, ?>) node).get(name) : null;
+        }
+
+        void eval(JSONPath path, int index, Object node, List<Object> out) {
+            if (node instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) node;
+                Object value = map.get(name);
+                if (value != null || map.containsKey(name)) {
+                    path.eval(value, index + 1, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * JSON Pointer 的一段, 对象按属性名、数组按下标匹配
+     */
+    static final class PointerSegment extends Segment {
+
+        final String name;
+
+        /**
+         * 不是合法数组下标时为 -1
+         */
+        final int    index;
+
+        PointerSegment(String name){
+            this.name = symbol(name);
+
+            int index = -1;
+            if (name.length() > 0 && name.length() < 10 && (name.charAt(0) != '0' || name.length() == 1)) {
+                index = 0;
+                for (int i = 0; i < name.length(); ++i) {
+                    char ch = name.charAt(i);
+                    if (ch < '0' || ch > '9') {
+                        index = -1;
+                        break;
+                    }
+                    index = index * 10 + (ch - '0');
+                }
+            }
+            this.index = index;
+        }
+
+        boolean acceptName(String name) {
+            return this.name == name || this.name.equals(name);
+        }
+
+        boolean acceptIndex(int index) {
+            return this.index == index;
+        }
+
+        void eval(JSONPath path, int index, Object node, List<Object> out) {
+            if (node instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) node;
+                Object value = map.get(name);
+                if (value != null || map.containsKey(name)) {
+                    path.eval(value, index + 1, out);
+                }
+            } else if (node instanceof List) {
+                List<?> list = (List<?>) node;
+                if (this.index >= 0 && this.index < list.size()) {
+                    path.eval(list.get(this.index), index + 1, out);
+                }
+            }
+        }
+
+        Object get(Object node) {
+            if (node instanceof Map) {
+                return ((Map<?, ?>) node).get(name);
+            }
+            if (node instanceof List) {
+                List<?> list = (List<?>) node;
+                return index >= 0 && index < list.size() ? list.get(index) : null;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * .. 递归查找: 在当前节点和所有子孙节点上匹配下一个片段
+     */
+    static final class DescentSegment extends Segment {
+
+        final static DescentSegment instance = new DescentSegment();
+
+        void eval(JSONPath path, int index, Object node, List<Object> out) {
+            path.eval(node, index + 1, out);
+
+            if (node instanceof Map) {
+                for (Object value : ((Map<?, ?>) node).values()) {
+                    eval(path, index, value, out);
+                }
+            } else if (node instanceof List) {
+                for (Object item : (List<?>) node) {
+                    eval(path, index, item, out);
+                }
+            }
+        }
+    }
+
+    static final class WildcardSegment extends Segment {
+
+        final static WildcardSegment instance = new WildcardSegment();
+
+        boolean acceptName(String name) {
+            return true;
+        }
+
+        boolean acceptIndex(int index) {
+            return true;
+        }
+
+        void eval(JSONPath path, int index, Object node, List<Object> out) {
+            if (node instanceof Map) {
+                for (Object value : ((Map<?, ?>) node).values()) {
+                    path.eval(value, index + 1, out);
+                }
+            } else if (node instanceof List) {
+                for (Object item : (List<?>) node) {
+                    path.eval(item, index + 1, out);
+                }
+            }
+        }
+    }
+
+    static final class IndexSegment extends Segment {
+
+        final int index;
+
+        IndexSegment(int index){
+            this.index = index;
+        }
+
+        /**
+         * 负数下标需要知道数组长度
+         */
+        boolean streamable() {
+            return index >= 0;
+        }
+
+        boolean acceptIndex(int index) {
+            return this.index == index;
+        }
+
+        Object get(Object node) {
+            if (node instanceof List) {
+                List<?> list = (List<?>) node;
+                int i = index >= 0 ? index : list.size() + index;
+                return i >= 0 && i < list.size() ? list.get(i) : null;
+            }
+            return null;
+        }
+
+        void eval(JSONPath path, int index, Object node, List<Object> out) {
+            if (node instanceof List) {
+                List<?> list = (List<?>) node;
+                /** 负数下标从末尾开始计算 */
+                int i = this.index >= 0 ? this.index : list.size() + this.index;
+                if (i >= 0 && i < list.size()) {
+                    path.eval(list.get(i), index + 1, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * [?(@.field op value)], 对数组元素(或者对象的值)逐个判断
+     */
+    static final class FilterSegment extends Segment {
+
+        final static int EXISTS = 0, EQ = 1, NE = 2, GT = 3, GE = 4, LT = 5, LE = 6;
+
+        /**
+         * '@' 后面的属性链
+         */
+        final String[]   fields;
+        final int        op;
+        final Object     value;
+
+        FilterSegment(String[] fields, int op, Object value){
+            this.fields = fields;
+            this.op = op;
+            this.value = value;
+        }
+
+        void eval(JSONPath path, int index, Object node, List<Object> out) {
+            Collection<?> items;
+            if (node instanceof List) {
+                items = (List<?>) node;
+            } else if (node instanceof Map) {
+                items = ((Map<?, ?>) node).values();
+            } else {
+                return;
+            }
+
+            for (Object item : items) {
+                if (accept(item)) {
+                    path.eval(item, index + 1, out);
+                }
+            }
+        }
+
+        boolean accept(Object item) {
+            Object actual = item;
+            for (String field : fields) {
+                if (!(actual instanceof Map)) {
+                    return false;
+                }
+                Map<?, ?> map = (Map<?, ?>) actual;
+                actual = map.get(field);
+                if (actual == null && !map.containsKey(field)) {
+                    return false;
+                }
+            }
+
+            switch (op) {
+                case EXISTS:
+                    return actual != null;
+                case EQ:
+                    return equals(actual, value);
+                case NE:
+                    return !equals(actual, value);
+                default:
+                    break;
+            }
+
+            int cmp;
+            if (actual instanceof Number && value instanceof Number) {
+                cmp = compare((Number) actual, (Number) value);
+            } else if (actual instanceof String && value instanceof String) {
+                cmp = ((String) actual).compareTo((String) value);
+            } else {
+                return false;
+            }
+
+            switch (op) {
+                case GT:
+                    return cmp > 0;
+                case GE:
+                    return cmp >= 0;
+                case LT:
+                    return cmp < 0;
+                default:
+                    return cmp <= 0;
+            }
+        }
+
+        private static boolean equals(Object a, Object b) {
+            if (a instanceof Number && b instanceof Number) {
+                return compare((Number) a, (Number) b) == 0;
+            }
+            return a == null ? b == null : a.equals(b);
+        }
+
+        private static boolean isInteger(Number n) {
+            return n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte;
+        }
+
+        private static int compare(Number a, Number b) {
+            if (isInteger(a) && isInteger(b)) {
+                long x = a.longValue(), y = b.longValue();
+                return x < y ? -1 : (x == y ? 0 : 1);
+            }
+            if (a instanceof BigDecimal || a instanceof BigInteger || a instanceof JSONNumber //
+                || b instanceof BigDecimal || b instanceof BigInteger || b instanceof JSONNumber) {
+                return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString()));
+            }
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+    }
+
+    /**
+     * 路径表达式解析
+     */
+    static final class JSONPathParser {
+
+        private final String path;
+        private int          pos;
+
+        JSONPathParser(String path){
+            this.path = path;
+        }
+
+        Segment[] parse() {
+            List<Segment> segments = new ArrayList<Segment>();
+
+            if (path.charAt(0) == '$') {
+                pos = 1;
+            } else if (path.charAt(0) != '.' && path.charAt(0) != '[') {
+                /** 省略了 '$.' */
+                segments.add(new PropertySegment(readName()));
+            }
+
+            while (pos < path.length()) {
+                char ch = path.charAt(pos);
+                if (ch == '.') {
+                    pos++;
+                    if (pos < path.length() && path.charAt(pos) == '.') {
+                        pos++;
+                        segments.add(DescentSegment.instance);
+                        if (pos < path.length() && path.charAt(pos) == '[') {
+                            continue;
+                        }
+                    }
+                    if (pos < path.length() && path.charAt(pos) == '*') {
+                        pos++;
+                        segments.add(WildcardSegment.instance);
+                    } else {
+                        segments.add(new PropertySegment(readName()));
+                    }
+                } else if (ch == '[') {
+                    pos++;
+                    segments.add(readBracket());
+                } else {
+                    throw error();
+                }
+            }
+
+            return segments.toArray(new Segment[segments.size()]);
+        }
+
+        private String readName() {
+            int start = pos;
+            while (pos < path.length() && path.charAt(pos) != '.' && path.charAt(pos) != '[') {
+                pos++;
+            }
+            if (pos == start) {
+                throw error();
+            }
+            return path.substring(start, pos);
+        }
+
+        /**
+         * '[' 之后的内容, 读到 ']' 为止
+         */
+        private Segment readBracket() {
+            char ch = current();
+            Segment segment;
+            if (ch == '*') {
+                pos++;
+                segment = WildcardSegment.instance;
+            } else if (ch == '\'' || ch == '"') {
+                segment = new PropertySegment(readQuoted());
+            } else if (ch == '?') {
+                pos++;
+                expect('(');
+                segment = readFilter();
+                expect(')');
+            } else if (ch == '-' || ch >= '0' && ch <= '9') {
+                int start = pos++;
+                while (pos < path.length() && Character.isDigit(path.charAt(pos))) {
+                    pos++;
+                }
+                try {
+                    segment = new IndexSegment(Integer.parseInt(path.substring(start, pos)));
+                } catch (NumberFormatException e) {
+                    throw error();
+                }
+            } else {
+                throw error();
+            }
+            expect(']');
+            return segment;
+        }
+
+        private Segment readFilter() {
+            skipWhitespace();
+            expect('@');
+
+            List<String> fields = new ArrayList<String>();
+            while (pos < path.length() && (current() == '.' || current() == '[')) {
+                if (current() == '.') {
+                    pos++;
+                    int start = pos;
+                    while (pos < path.length() && (Character.isLetterOrDigit(current()) || current() == '_' || current() == '$')) {
+                        pos++;
+                    }
+                    if (pos == start) {
+                        throw error();
+                    }
+                    fields.add(path.substring(start, pos));
+                } else {
+                    pos++;
+                    fields.add(readQuoted());
+                    expect(']');
+                }
+            }
+            skipWhitespace();
+
+            int op;
+            char ch = current();
+            if (ch == ')') {
+                return new FilterSegment(fields.toArray(new String[fields.size()]), FilterSegment.EXISTS, null);
+            } else if (path.startsWith("==", pos)) {
+                op = FilterSegment.EQ;
+            } else if (path.startsWith("!=", pos)) {
+                op = FilterSegment.NE;
+            } else if (path.startsWith(">=", pos)) {
+                op = FilterSegment.GE;
+            } else if (path.startsWith("<=", pos)) {
+                op = FilterSegment.LE;
+            } else if (ch == '>') {
+                op = FilterSegment.GT;
+            } else if (ch == '<') {
+                op = FilterSegment.LT;
+            } else {
+                throw error();
+            }
+            pos += op == FilterSegment.GT || op == FilterSegment.LT ? 1 : 2;
+            skipWhitespace();
+
+            Object value = readLiteral();
+            skipWhitespace();
+            return new FilterSegment(fields.toArray(new String[fields.size()]), op, value);
+        }
+
+        private Object readLiteral() {
+            char ch = current();
+            if (ch == '\'' || ch == '"') {
+                return readQuoted();
+            }
+
+            int start = pos;
+            while (pos < path.length() && current() != ')' && current() != ' ') {
+                pos++;
+            }
+            String literal = path.substring(start, pos);
+            if ("true".equals(literal)) {
+                return Boolean.TRUE;
+            } else if ("false".equals(literal)) {
+                return Boolean.FALSE;
+            } else if ("null".equals(literal)) {
+                return null;
+            }
+
+            try {
+                /** 和解析器保持一致: 整数为 Integer / Long, 小数为 Double */
+                if (literal.indexOf('.') == -1 && literal.indexOf('e') == -1 && literal.indexOf('E') == -1) {
+                    long value = Long.parseLong(literal);
+                    return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+                }
+                return Double.parseDouble(literal);
+            } catch (NumberFormatException e) {
+                throw error();
+            }
+        }
+
+        private String readQuoted() {
+            char quote = current();
+            int end = path.indexOf(quote, pos + 1);
+            if (end == -1) {
+                throw error();
+            }
+            String name = path.substring(pos + 1, end);
+            pos = end + 1;
+            return name;
+        }
+
+        private char current() {
+            if (pos >= path.length()) {
+                throw error();
+            }
+            return path.charAt(pos);
+        }
+
+        private void expect(char ch) {
+            if (current() != ch) {
+                throw error();
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < path.length() && path.charAt(pos) == ' ') {
+                pos++;
+            }
+        }
+
+        private JSONException error() {
+            return new JSONException("illegal jsonpath : " + path + ", pos " + pos);
+        }
+    }
+
+}
@@ -0,0 +1,347 @@
+package com.kdocke.fastjson;
+
+import com.kdocke.fastjson.parser.DefaultJSONParser;
+import com.kdocke.fastjson.parser.JSONLexerBase;
+import com.kdocke.fastjson.parser.JSONToken;
+import com.kdocke.fastjson.parser.ParserConfig;
+
+import java.io.Closeable;
+import java.io.Reader;
+
+import static com.kdocke.fastjson.parser.JSONToken.*;
+
+/**
+ * 拉取式的 JSON 读取器
+ * 基于 DefaultJSONParser 的词法分析器逐个读取 token, 不会构造 JSONObject / JSONArray,
+ * 适合只需要从大文档中读取少数字段的场景。
+ *
+ * 用法:
+ * <pre>
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ *     String name = reader.nextName();
+ *     if ("id".equals(name)) {
+ *         id = reader.nextLong();
+ *     } else {
+ *         reader.skipValue();
+ *     }
+ * }
+ * reader.endObject();
+ * </pre>
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:16
+ */
+public class JSONReader implements Closeable {
+
+    /** 容器类型: 对象 */
+    private final static int        OBJECT = 1;
+    /** 容器类型: 数组 */
+    private final static int        ARRAY  = 2;
+
+    private final DefaultJSONParser parser;
+    private final JSONLexerBase     lexer;
+
+    /** 容器栈 */
+    private int[]                   stack  = new int[16];
+    private int                     depth;
+
+    /**
+     * 是否处于对象中等待 key 的位置;
+     * 此时词法分析器停在字符级别(刚读过 '{' 或 ','), 还没有读取下一个 token
+     */
+    private boolean                 nameExpected;
+
+    /**
+     * 是否刚读过 key, 值还没有读取;
+     * 此时词法分析器停在值的第一个字符, 跳过这个值时不需要扫描 token
+     */
+    private boolean                 valuePending;
+
+    public JSONReader(String text){
+        this(new DefaultJSONParser(text, ParserConfig.getGlobalInstance(), JSON.DEFAULT_PARSER_FEATURE));
+    }
+
+    public JSONReader(Reader reader){
+        this(new DefaultJSONParser(reader, ParserConfig.getGlobalInstance(), JSON.DEFAULT_PARSER_FEATURE));
+    }
+
+    public JSONReader(DefaultJSONParser parser){
+        this.parser = parser;
+        this.lexer = (JSONLexerBase) parser.lexer;
+    }
+
+    /**
+     * 返回下一个元素的类型, 不消费它
+     * @return JSONToken 中的 LBRACE、RBRACE、LBRACKET、RBRACKET、FIELD_NAME、LITERAL_STRING、
+     *         LITERAL_INT、LITERAL_FLOAT、TRUE、FALSE、NULL 或 EOF
+     */
+    public int peek() {
+        if (nameExpected) {
+            lexer.skipWhitespace();
+            char ch = lexer.getCurrent();
+            if (ch == '"') {
+                return FIELD_NAME;
+            }
+            if (ch == '}') {
+                return RBRACE;
+            }
+            throw new JSONException("syntax error, expect name, pos " + lexer.pos());
+        }
+
+        if (valuePending) {
+            valuePending = false;
+            lexer.nextToken();
+        }
+
+        return lexer.token();
+    }
+
+    /**
+     * 当前对象或数组中是否还有元素
+     * @return
+     */
+    public boolean hasNext() {
+        int token = peek();
+        return token != RBRACE && token != RBRACKET && token != EOF;
+    }
+
+    public void beginObject() {
+        expect(LBRACE);
+
+        /** '{' 已经被读过, 下一个是 key 或者 '}' */
+        push(OBJECT);
+        nameExpected = true;
+    }
+
+    public void endObject() {
+        if (depth == 0 || stack[depth - 1] != OBJECT) {
+            throw new JSONException("syntax error, not in object");
+        }
+
+        if (nameExpected) {
+            lexer.skipWhitespace();
+            if (lexer.getCurrent() != '}') {
+                throw new JSONException("syntax error, expect }, pos " + lexer.pos());
+            }
+            lexer.next();
+            nameExpected = false;
+        } else {
+            expect(RBRACE);
+        }
+
+        depth--;
+        lexer.nextToken();
+        endValue();
+    }
+
+    public void beginArray() {
+        expect(LBRACKET);
+
+        push(ARRAY);
+        lexer.nextToken();
+    }
+
+    public void endArray() {
+        if (depth == 0 || stack[depth - 1] != ARRAY) {
+            throw new JSONException("syntax error, not in array");
+        }
+        expect(RBRACKET);
+
+        depth--;
+        lexer.nextToken();
+        endValue();
+    }
+
+    /**
+     * 读取对象的下一个 key, key 通过 SymbolTable 复用, 相同的 key 不会重复创建 String
+     * @return
+     */
+    public String nextName() {
+        if (!nameExpected) {
+            throw new JSONException("syntax error, expect value, actual name");
+        }
+
+        lexer.skipWhitespace();
+        if (lexer.getCurrent() != '"') {
+            throw new JSONException("syntax error, expect name, pos " + lexer.pos());
+        }
+
+        String name = lexer.scanSymbol(parser.symbolTable, '"');
+
+        lexer.skipWhitespace();
+        if (lexer.getCurrent() != ':') {
+            throw new JSONException("expect ':' at " + lexer.pos() + ", name " + name);
+        }
+        lexer.next();
+
+        /** 值在需要时才读取 */
+        nameExpected = false;
+        valuePending = true;
+        return name;
+    }
+
+    public String nextString() {
+        int token = peek();
+        if (token == NULL) {
+            lexer.nextToken();
+            endValue();
+            return null;
+        }
+        if (token != LITERAL_STRING) {
+            throw unexpected("string", token);
+        }
+
+        String value = lexer.stringVal();
+        lexer.nextToken();
+        endValue();
+        return value;
+    }
+
+    public long nextLong() {
+        int token = peek();
+        if (token != LITERAL_INT) {
+            throw unexpected("int", token);
+        }
+
+        long value = lexer.longValue();
+        lexer.nextToken();
+        endValue();
+        return value;
+    }
+
+    public int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new JSONException("int overflow : " + value);
+        }
+        return (int) value;
+    }
+
+    public double nextDouble() {
+        int token = peek();
+        if (token != LITERAL_INT && token != LITERAL_FLOAT) {
+            throw unexpected("number", token);
+        }
+
+        double value = lexer.doubleValue();
+        lexer.nextToken();
+        endValue();
+        return value;
+    }
+
+    public boolean nextBoolean() {
+        int token = peek();
+        if (token != TRUE && token != FALSE) {
+            throw unexpected("boolean", token);
+        }
+
+        lexer.nextToken();
+        endValue();
+        return token == TRUE;
+    }
+
+    public void nextNull() {
+        int token = peek();
+        if (token != NULL) {
+            throw unexpected("null", token);
+        }
+
+        lexer.nextToken();
+        endValue();
+    }
+
+    /**
+     * 把下一个值完整地读取出来
+     * @return JSONObject、JSONArray、String、Number、Boolean 或 null
+     */
+    public Object readValue() {
+        int token = peek();
+        if (token == FIELD_NAME || token == RBRACE || token == RBRACKET || token == EOF) {
+            throw unexpected("value", token);
+        }
+
+        Object value = parser.parse();
+        endValue();
+        return value;
+    }
+
+    /**
+     * 跳过下一个值, 如果是对象或数组会跳过整个子树;
+     * 子树由词法分析器按括号深度跳过, 其中的字符串、数字和 key 都不会被读取
+     */
+    public void skipValue() {
+        if (valuePending) {
+            valuePending = false;
+            lexer.skipValue();
+            lexer.nextToken();
+            endValue();
+            return;
+        }
+
+        int token = peek();
+        if (token == FIELD_NAME || token == RBRACE || token == RBRACKET || token == EOF) {
+            throw unexpected("value", token);
+        }
+
+        /** '{' 或 '[' 已经被读过, 跳过剩余部分 */
+        if (token == LBRACE || token == LBRACKET) {
+            lexer.skipNested(1);
+        }
+        lexer.nextToken();
+        endValue();
+    }
+
+    /**
+     * 一个值读取完成, 这时下一个 token 已经读入:
+     * 对象中遇到 ',' 回到等待 key 的状态, 数组中遇到 ',' 预读下一个元素
+     */
+    private void endValue() {
+        if (depth == 0) {
+            return;
+        }
+
+        int token = lexer.token();
+        if (token == COMMA) {
+            if (stack[depth - 1] == OBJECT) {
+                nameExpected = true;
+            } else {
+                lexer.nextToken();
+            }
+            return;
+        }
+
+        if (stack[depth - 1] == OBJECT ? token != RBRACE : token != RBRACKET) {
+            throw new JSONException("syntax error, actual " + JSONToken.name(token) + ", pos " + lexer.pos());
+        }
+    }
+
+    private void expect(int token) {
+        int actual = peek();
+        if (actual != token) {
+            throw new JSONException("syntax error, expect " + JSONToken.name(token) + ", actual " + JSONToken.name(actual)
+                    + ", pos " + lexer.pos());
+        }
+    }
+
+    private JSONException unexpected(String expect, int token) {
+        return new JSONException("syntax error, expect " + expect + ", actual " + JSONToken.name(token) + ", pos " + lexer.pos());
+    }
+
+    private void push(int type) {
+        if (depth == stack.length) {
+            int[] newStack = new int[stack.length * 2];
+            System.arraycopy(stack, 0, newStack, 0, depth);
+            stack = newStack;
+        }
+        stack[depth++] = type;
+    }
+
+    /**
+     * 释放词法分析器的缓冲区, 从 Reader 读取时同时关闭 Reader;
+     * 允许在没有读完整个文档时关闭
+     */
+    public void close() {
+        lexer.close();
+    }
+
+}
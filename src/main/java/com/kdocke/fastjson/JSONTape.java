@@ -0,0 +1,593 @@
+package com.kdocke.fastjson;
+
+import com.kdocke.fastjson.parser.JSONVisitor;
+import com.kdocke.fastjson.serializer.SerializeWriter;
+
+import java.math.BigInteger;
+
+/**
+ * 扁平的 json 文档表示
+ * 整个文档保存在一个 long[] 纸带和一个 char[] 字符串缓冲区中, 不创建 Map、List 和包装类型:
+ * <pre>
+ * 每个条目的高 8 位是类型, 低 56 位是内容
+ * {  [        低 32 位是容器结束之后的下标(跳过整个子树是 O(1) 的), 32 ~ 55 位是元素个数
+ * }  ]        容器开始的下标
+ * "           字符串在 strings 中的位置, 那里先用两个 char 保存长度, 然后是字符; 对象的 key 也是字符串条目
+ * l  d        下一个条目保存 long 值或者 double 的二进制表示
+ * I           超出 long 范围的整数, 和字符串一样保存数字文本
+ * t  f  n     true、false、null
+ * </pre>
+ * 对象的内容依次是 key、value、key、value ..., 数组的内容依次是元素。
+ * 文档只读, 通过 Cursor 访问, 也可以直接序列化。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:30
+ */
+public class JSONTape extends JSON {
+
+    public final static int OBJECT      = '{';
+    public final static int OBJECT_END  = '}';
+    public final static int ARRAY       = '[';
+    public final static int ARRAY_END   = ']';
+    public final static int STRING      = '"';
+    public final static int LONG        = 'l';
+    public final static int DOUBLE      = 'd';
+    public final static int BIG_INTEGER = 'I';
+    public final static int TRUE        = 't';
+    public final static int FALSE       = 'f';
+    public final static int NULL        = 'n';
+
+    private final static long PAYLOAD_MASK = 0xFFFFFFFFFFFFFFL;
+    private final static int  MAX_COUNT    = 0xFFFFFF;
+
+    final long[]              tape;
+    final int                 tapeLength;
+    final char[]              strings;
+    final int                 stringsLength;
+
+    JSONTape(long[] tape, int tapeLength, char[] strings, int stringsLength){
+        this.tape = tape;
+        this.tapeLength = tapeLength;
+        this.strings = strings;
+        this.stringsLength = stringsLength;
+    }
+
+    /**
+     * 指向根节点的游标
+     * @return
+     */
+    public Cursor cursor() {
+        return new Cursor(this, 0, false);
+    }
+
+    /**
+     * 纸带条目数
+     */
+    public int tapeLength() {
+        return tapeLength;
+    }
+
+    /**
+     * 字符串缓冲区长度
+     */
+    public int stringsLength() {
+        return stringsLength;
+    }
+
+    /**
+     * 第 index 个纸带条目, 其余访问方法都通过它读取纸带
+     */
+    long word(int index) {
+        return tape[index];
+    }
+
+    final int type(int index) {
+        return (int) (word(index) >>> 56);
+    }
+
+    final long payload(int index) {
+        return word(index) & PAYLOAD_MASK;
+    }
+
+    /**
+     * 下一个兄弟条目的下标, 容器直接跳到结束之后
+     */
+    final int skip(int index) {
+        switch (type(index)) {
+            case OBJECT:
+            case ARRAY:
+                return (int) word(index);
+            case LONG:
+            case DOUBLE:
+                return index + 2;
+            default:
+                return index + 1;
+        }
+    }
+
+    final int stringOffset(int index) {
+        return (int) payload(index) + 2;
+    }
+
+    final int stringLength(int index) {
+        int offset = (int) payload(index);
+        return strings[offset] << 16 | strings[offset + 1];
+    }
+
+    String stringAt(int index) {
+        return new String(strings, stringOffset(index), stringLength(index));
+    }
+
+    /**
+     * 不创建 String 比较字符串条目
+     */
+    boolean stringEquals(int index, String value) {
+        int len = stringLength(index);
+        if (len != value.length()) {
+            return false;
+        }
+
+        int offset = stringOffset(index);
+        for (int i = 0; i < len; ++i) {
+            if (strings[offset + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 把字符串条目直接从字符串缓冲区输出
+     */
+    void writeString(SerializeWriter out, int index) {
+        out.writeString(strings, stringOffset(index), stringLength(index));
+    }
+
+    /**
+     * 把 index 处的值构造成 JSONObject、JSONArray 或者基本类型
+     */
+    final Object toJavaObject(int index) {
+        switch (type(index)) {
+            case OBJECT: {
+                JSONObject object = new JSONObject();
+                int end = skip(index) - 1;
+                for (int i = index + 1; i < end;) {
+                    String key = stringAt(i);
+                    object.put(key, toJavaObject(i + 1));
+                    i = skip(i + 1);
+                }
+                return object;
+            }
+            case ARRAY: {
+                JSONArray array = new JSONArray();
+                int end = skip(index) - 1;
+                for (int i = index + 1; i < end; i = skip(i)) {
+                    array.add(toJavaObject(i));
+                }
+                return array;
+            }
+            case STRING:
+                return stringAt(index);
+            case LONG: {
+                long value = word(index + 1);
+                return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+            }
+            case DOUBLE:
+                return Double.longBitsToDouble(word(index + 1));
+            case BIG_INTEGER:
+                return new BigInteger(stringAt(index));
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 纸带上的游标, 只保存一个下标, 可以随意复制
+     */
+    public static final class Cursor {
+
+        private final JSONTape tape;
+        private int            index;
+
+        /**
+         * 当前是否是对象中的值, 此时 index - 1 是 key
+         */
+        private boolean        inObject;
+
+        Cursor(JSONTape tape, int index, boolean inObject){
+            this.tape = tape;
+            this.index = index;
+            this.inObject = inObject;
+        }
+
+        public Cursor copy() {
+            return new Cursor(tape, index, inObject);
+        }
+
+        /**
+         * 当前值的类型, 为 JSONTape 中的常量
+         */
+        public int type() {
+            return tape.type(index);
+        }
+
+        public boolean isObject() {
+            return type() == OBJECT;
+        }
+
+        public boolean isArray() {
+            return type() == ARRAY;
+        }
+
+        public boolean isNull() {
+            return type() == NULL;
+        }
+
+        /**
+         * 对象的字段数或者数组的元素个数
+         */
+        public int size() {
+            int type = type();
+            if (type != OBJECT && type != ARRAY) {
+                throw new JSONException("not container : " + (char) type);
+            }
+
+            int count = (int) (tape.word(index) >>> 32) & MAX_COUNT;
+            if (count == MAX_COUNT) {
+                /** 元素太多时没有记录个数, 逐个数 */
+                count = 0;
+                int end = tape.skip(index) - 1;
+                for (int i = index + 1; i < end; i = tape.skip(i)) {
+                    count++;
+                }
+                if (type == OBJECT) {
+                    count /= 2;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * 移动到对象中 key 对应的值, 中间跳过的值都是 O(1) 的
+         * @param key
+         * @return 没有这个 key 或者当前不是对象时返回 false, 游标不动
+         */
+        public boolean field(String key) {
+            if (type() != OBJECT) {
+                return false;
+            }
+
+            int end = tape.skip(index) - 1;
+            for (int i = index + 1; i < end; i = tape.skip(i + 1)) {
+                if (tape.stringEquals(i, key)) {
+                    index = i + 1;
+                    inObject = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 移动到数组的第 i 个元素
+         * @param i
+         * @return 越界或者当前不是数组时返回 false, 游标不动
+         */
+        public boolean element(int i) {
+            if (type() != ARRAY || i < 0) {
+                return false;
+            }
+
+            int end = tape.skip(index) - 1;
+            for (int j = index + 1; j < end; j = tape.skip(j)) {
+                if (i-- == 0) {
+                    index = j;
+                    inObject = false;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 移动到容器的第一个值(对象中是第一个 key 的值)
+         * @return 空容器或者当前不是容器时返回 false, 游标不动
+         */
+        public boolean first() {
+            int type = type();
+            if (type != OBJECT && type != ARRAY) {
+                return false;
+            }
+
+            int next = index + 1;
+            int nextType = tape.type(next);
+            if (nextType == OBJECT_END || nextType == ARRAY_END) {
+                return false;
+            }
+
+            inObject = type == OBJECT;
+            index = inObject ? next + 1 : next;
+            return true;
+        }
+
+        /**
+         * 移动到同一个容器中的下一个值
+         * @return 已经是最后一个值时返回 false, 游标不动
+         */
+        public boolean next() {
+            int next = tape.skip(index);
+            if (next >= tape.tapeLength) {
+                return false;
+            }
+
+            int nextType = tape.type(next);
+            if (nextType == OBJECT_END || nextType == ARRAY_END) {
+                return false;
+            }
+
+            index = inObject ? next + 1 : next;
+            return true;
+        }
+
+        /**
+         * 当前值在对象中的 key
+         * @return 不在对象中时返回 null
+         */
+        public String key() {
+            return inObject ? tape.stringAt(index - 1) : null;
+        }
+
+        public String stringValue() {
+            int type = type();
+            if (type == STRING || type == BIG_INTEGER) {
+                return tape.stringAt(index);
+            }
+            if (type == NULL) {
+                return null;
+            }
+            throw new JSONException("not string : " + (char) type);
+        }
+
+        public long longValue() {
+            switch (type()) {
+                case LONG:
+                    return tape.word(index + 1);
+                case DOUBLE:
+                    return (long) Double.longBitsToDouble(tape.word(index + 1));
+                case BIG_INTEGER:
+                    return new BigInteger(tape.stringAt(index)).longValue();
+                default:
+                    throw new JSONException("not number : " + (char) type());
+            }
+        }
+
+        public double doubleValue() {
+            switch (type()) {
+                case LONG:
+                    return tape.word(index + 1);
+                case DOUBLE:
+                    return Double.longBitsToDouble(tape.word(index + 1));
+                case BIG_INTEGER:
+                    return new BigInteger(tape.stringAt(index)).doubleValue();
+                default:
+                    throw new JSONException("not number : " + (char) type());
+            }
+        }
+
+        public boolean booleanValue() {
+            int type = type();
+            if (type == TRUE) {
+                return true;
+            }
+            if (type == FALSE) {
+                return false;
+            }
+            throw new JSONException("not boolean : " + (char) type);
+        }
+
+        /**
+         * 把当前 key 直接从字符串缓冲区输出
+         */
+        public void writeKey(SerializeWriter out) {
+            tape.writeString(out, index - 1);
+        }
+
+        /**
+         * 把当前字符串直接从字符串缓冲区输出
+         */
+        public void writeString(SerializeWriter out) {
+            tape.writeString(out, index);
+        }
+
+        /**
+         * 把当前值构造成 JSONObject、JSONArray 或者基本类型
+         */
+        public Object value() {
+            return tape.toJavaObject(index);
+        }
+    }
+
+    /**
+     * 由解析事件生成纸带, 负责容器的嵌套和元素计数; 纸带和字符串保存在哪里由子类决定
+     */
+    abstract static class TapeBuilder implements JSONVisitor {
+
+        int            tapeLength;
+
+        /**
+         * 没有关闭的容器的开始下标和元素个数
+         */
+        private int[]  starts  = new int[16];
+        private int[]  counts  = new int[16];
+        private int    depth;
+
+        /**
+         * 写入第 index 个纸带条目, index 不超过当前的 tapeLength
+         */
+        abstract void put(int index, long word);
+
+        /**
+         * 第 index 个纸带条目按位或上 bits
+         */
+        abstract void or(int index, long bits);
+
+        /**
+         * 保存字符串, 返回写到纸带条目中的位置
+         */
+        abstract long storeString(char[] buf, int off, int len);
+
+        final void checkClosed() {
+            if (depth != 0) {
+                throw new JSONException("unclosed json text");
+            }
+        }
+
+        private void append(int type, long payload) {
+            put(tapeLength++, (long) type << 56 | payload);
+        }
+
+        private void appendRaw(long value) {
+            put(tapeLength++, value);
+        }
+
+        private void appendString(int type, char[] buf, int off, int len) {
+            append(type, storeString(buf, off, len));
+        }
+
+        /**
+         * 一个值写入之后, 所在容器的元素个数加一
+         */
+        private void count() {
+            if (depth > 0) {
+                counts[depth - 1]++;
+            }
+        }
+
+        private void start(int type) {
+            count();
+            if (depth == starts.length) {
+                int[] newStarts = new int[depth * 2];
+                int[] newCounts = new int[depth * 2];
+                System.arraycopy(starts, 0, newStarts, 0, depth);
+                System.arraycopy(counts, 0, newCounts, 0, depth);
+                starts = newStarts;
+                counts = newCounts;
+            }
+            starts[depth] = tapeLength;
+            counts[depth] = 0;
+            depth++;
+            append(type, 0);
+        }
+
+        private void end(int type) {
+            depth--;
+            int start = starts[depth];
+            long count = Math.min(counts[depth], MAX_COUNT);
+
+            append(type, start);
+            or(start, count << 32 | tapeLength);
+        }
+
+        public void onObjectStart() {
+            start(OBJECT);
+        }
+
+        public void onObjectEnd() {
+            end(OBJECT_END);
+        }
+
+        public void onArrayStart() {
+            start(ARRAY);
+        }
+
+        public void onArrayEnd() {
+            end(ARRAY_END);
+        }
+
+        public void onKey(char[] buf, int off, int len, String symbol) {
+            /** key 不计入元素个数 */
+            appendString(STRING, buf, off, len);
+        }
+
+        public void onString(char[] buf, int off, int len) {
+            count();
+            appendString(STRING, buf, off, len);
+        }
+
+        public void onLong(long value) {
+            count();
+            append(LONG, 0);
+            appendRaw(value);
+        }
+
+        public void onBigInteger(BigInteger value) {
+            count();
+            char[] digits = value.toString().toCharArray();
+            appendString(BIG_INTEGER, digits, 0, digits.length);
+        }
+
+        public void onDouble(double value) {
+            count();
+            append(DOUBLE, 0);
+            appendRaw(Double.doubleToRawLongBits(value));
+        }
+
+        public void onBoolean(boolean value) {
+            count();
+            append(value ? TRUE : FALSE, 0);
+        }
+
+        public void onNull() {
+            count();
+            append(NULL, 0);
+        }
+    }
+
+    /**
+     * 生成堆上的纸带
+     */
+    static final class Builder extends TapeBuilder {
+
+        private long[] tape    = new long[64];
+        private char[] strings = new char[256];
+        private int    stringsLength;
+
+        JSONTape build() {
+            checkClosed();
+            return new JSONTape(tape, tapeLength, strings, stringsLength);
+        }
+
+        void put(int index, long word) {
+            if (index == tape.length) {
+                long[] newTape = new long[tape.length * 2];
+                System.arraycopy(tape, 0, newTape, 0, index);
+                tape = newTape;
+            }
+            tape[index] = word;
+        }
+
+        void or(int index, long bits) {
+            tape[index] |= bits;
+        }
+
+        long storeString(char[] buf, int off, int len) {
+            int offset = stringsLength;
+            int newLength = offset + len + 2;
+            if (newLength > strings.length) {
+                char[] newStrings = new char[Math.max(strings.length * 2, newLength)];
+                System.arraycopy(strings, 0, newStrings, 0, offset);
+                strings = newStrings;
+            }
+
+            strings[offset] = (char) (len >>> 16);
+            strings[offset + 1] = (char) len;
+            System.arraycopy(buf, off, strings, offset + 2, len);
+            stringsLength = newLength;
+            return offset;
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.kdocke.fastjson;
+
+import com.kdocke.fastjson.parser.LazyValue;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * 懒加载的 JSONArray, 由 JSON.parseLazy 创建
+ * 元素为对象、数组或字符串时先保存为 LazyValue, get 第一次访问到时才扫描并替换;
+ * 迭代、查找等需要所有元素的方法会先把这一层全部扫描出来。
+ * set / remove(int) 不扫描被替换的元素, 没有访问过的旧元素以 LazyValue 返回。
+ * 不是线程安全的: get 会把扫描结果写回, 即使只读也不能在没有同步的情况下被多个线程共享。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:26
+ */
+public class LazyJSONArray extends JSONArray {
+
+    private static final long serialVersionUID = 1L;
+
+    public Object get(int index) {
+        Object value = super.get(index);
+        if (value instanceof LazyValue) {
+            value = ((LazyValue) value).resolve();
+            super.set(index, value);
+        }
+        return value;
+    }
+
+    public boolean contains(Object o) {
+        resolveAll();
+        return super.contains(o);
+    }
+
+    public boolean containsAll(Collection<?> c) {
+        resolveAll();
+        return super.containsAll(c);
+    }
+
+    public int indexOf(Object o) {
+        resolveAll();
+        return super.indexOf(o);
+    }
+
+    public int lastIndexOf(Object o) {
+        resolveAll();
+        return super.lastIndexOf(o);
+    }
+
+    public boolean remove(Object o) {
+        resolveAll();
+        return super.remove(o);
+    }
+
+    public boolean removeAll(Collection<?> c) {
+        resolveAll();
+        return super.removeAll(c);
+    }
+
+    public boolean retainAll(Collection<?> c) {
+        resolveAll();
+        return super.retainAll(c);
+    }
+
+    public Iterator<Object> iterator() {
+        resolveAll();
+        return super.iterator();
+    }
+
+    public ListIterator<Object> listIterator() {
+        resolveAll();
+        return super.listIterator();
+    }
+
+    public ListIterator<Object> listIterator(int index) {
+        resolveAll();
+        return super.listIterator(index);
+    }
+
+    public List<Object> subList(int fromIndex, int toIndex) {
+        resolveAll();
+        return super.subList(fromIndex, toIndex);
+    }
+
+    public Object[] toArray() {
+        resolveAll();
+        return super.toArray();
+    }
+
+    public <T> T[] toArray(T[] a) {
+        resolveAll();
+        return super.toArray(a);
+    }
+
+    /**
+     * 扫描这一层所有还没有访问过的元素
+     */
+    private void resolveAll() {
+        for (int i = 0, size = size(); i < size; ++i) {
+            get(i);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.kdocke.fastjson;
+
+import com.kdocke.fastjson.parser.LazyValue;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 懒加载的 JSONObject, 由 JSON.parseLazy 创建
+ * 值为对象、数组或字符串时先保存为 LazyValue, get 第一次访问到时才扫描并替换;
+ * 需要遍历所有值的方法(values、entrySet 等)会先把这一层全部扫描出来。
+ * put / remove 不扫描被替换的值, 没有访问过的旧值以 LazyValue 返回。
+ * 不是线程安全的: get 会把扫描结果写回, 即使只读也不能在没有同步的情况下被多个线程共享。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:26
+ */
+public class LazyJSONObject extends JSONObject {
+
+    private static final long serialVersionUID = 1L;
+
+    public LazyJSONObject(){
+        super(false);
+    }
+
+    public Object get(Object key) {
+        Object value = super.get(key);
+        if (value instanceof LazyValue) {
+            value = ((LazyValue) value).resolve();
+            super.put(key instanceof String ? (String) key : key.toString(), value);
+        }
+        return value;
+    }
+
+    public boolean containsValue(Object value) {
+        resolveAll();
+        return super.containsValue(value);
+    }
+
+    public Set<Map.Entry<String, Object>> entrySet() {
+        resolveAll();
+        return super.entrySet();
+    }
+
+    public Collection<Object> values() {
+        resolveAll();
+        return super.values();
+    }
+
+    public Map<String, Object> getInnerMap() {
+        resolveAll();
+        return super.getInnerMap();
+    }
+
+    /**
+     * 扫描这一层所有还没有访问过的值
+     */
+    private void resolveAll() {
+        for (Map.Entry<String, Object> entry : super.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof LazyValue) {
+                entry.setValue(((LazyValue) value).resolve());
+            }
+        }
+    }
+
+}
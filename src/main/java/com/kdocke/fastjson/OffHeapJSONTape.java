@@ -0,0 +1,278 @@
+package com.kdocke.fastjson;
+
+import com.kdocke.fastjson.serializer.SerializeWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 保存在堆外内存中的 JSONTape
+ * 纸带条目和 JSONTape 相同, 字符串改为 UTF-8 编码保存, 访问时才解码:
+ * <pre>
+ * [0, tapeLength * 8)       纸带, 每个条目 8 字节
+ * [tapeLength * 8, size)    字符串区, 每个字符串先用 4 字节保存 UTF-8 长度, 然后是 UTF-8 字节
+ * </pre>
+ * 字符串条目的内容是在字符串区中的位置。
+ * 堆上只有这个对象和 ByteBuffer, GC 不需要扫描文档内容; 内存在 JSONArena 关闭时释放。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:31
+ */
+public class OffHeapJSONTape extends JSONTape {
+
+    private final JSONArena  arena;
+    private final ByteBuffer segment;
+    private final int        stringsBase;
+
+    private OffHeapJSONTape(JSONArena arena, ByteBuffer segment, int tapeLength, int stringsLength){
+        super(null, tapeLength, null, stringsLength);
+        this.arena = arena;
+        this.segment = segment;
+        this.stringsBase = tapeLength << 3;
+    }
+
+    /**
+     * 由解析事件直接生成堆外的纸带
+     * 纸带条目和 UTF-8 编码的字符串分别写到两块临时的直接内存中, 解析完成后一次复制到 arena 分配的连续内存里,
+     * 临时内存随即释放; 整个过程中文档内容不经过 java 堆。
+     */
+    static final class Builder extends TapeBuilder {
+
+        private final JSONArena arena;
+
+        private ByteBuffer      tape;
+        private ByteBuffer      strings;
+        private int             stringsLength;
+
+        /**
+         * @param arena
+         * @param inputLength 输入的长度, 用来估计临时内存的初始大小
+         */
+        Builder(JSONArena arena, int inputLength){
+            this.arena = arena;
+            arena.checkOpen();
+            this.tape = allocate(initialCapacity(inputLength * 2L));
+            this.strings = allocate(initialCapacity(inputLength));
+        }
+
+        /**
+         * 大的输入先按 4M 分配, 不够时再扩容
+         */
+        private static int initialCapacity(long estimate) {
+            return (int) Math.max(512, Math.min(estimate, 4 * 1024 * 1024));
+        }
+
+        private static ByteBuffer allocate(int size) {
+            return ByteBuffer.allocateDirect((size + 7) & ~7).order(ByteOrder.nativeOrder());
+        }
+
+        /**
+         * 复制 buffer 的 [0, length) 到新的更大的临时内存中, 释放原来的
+         */
+        private static ByteBuffer grow(ByteBuffer buffer, int length, int minCapacity) {
+            int capacity = buffer.capacity();
+            while (capacity < minCapacity) {
+                if (capacity > Integer.MAX_VALUE / 2) {
+                    throw new JSONException("json text too large");
+                }
+                capacity *= 2;
+            }
+
+            ByteBuffer newBuffer = allocate(capacity);
+            copy(buffer, length, newBuffer, 0);
+            JSONArena.free(buffer);
+            return newBuffer;
+        }
+
+        private static void copy(ByteBuffer src, int length, ByteBuffer dst, int position) {
+            ByteBuffer from = src.duplicate();
+            from.position(0).limit(length);
+            ByteBuffer to = dst.duplicate();
+            to.position(position);
+            to.put(from);
+        }
+
+        void put(int index, long word) {
+            int position = index << 3;
+            if (position + 8 > tape.capacity()) {
+                tape = grow(tape, position, position + 8);
+            }
+            tape.putLong(position, word);
+        }
+
+        void or(int index, long bits) {
+            int position = index << 3;
+            tape.putLong(position, tape.getLong(position) | bits);
+        }
+
+        long storeString(char[] buf, int off, int len) {
+            int offset = stringsLength;
+            /** 每个字符最多 3 个字节 */
+            long maxLength = offset + 4 + (long) len * 3;
+            if (maxLength > strings.capacity()) {
+                if (maxLength > Integer.MAX_VALUE) {
+                    throw new JSONException("json text too large");
+                }
+                strings = grow(strings, offset, (int) maxLength);
+            }
+
+            int bytes = encodeUTF8(buf, off, len, strings, offset + 4);
+            strings.putInt(offset, bytes);
+            stringsLength = offset + 4 + bytes;
+            return offset;
+        }
+
+        /**
+         * 把纸带和字符串复制到 arena 中, 并释放临时内存
+         */
+        OffHeapJSONTape build() {
+            checkClosed();
+
+            int base = tapeLength << 3;
+            ByteBuffer segment = arena.allocate(base + stringsLength);
+            copy(tape, base, segment, 0);
+            copy(strings, stringsLength, segment, base);
+            release();
+
+            return new OffHeapJSONTape(arena, segment, tapeLength, stringsLength);
+        }
+
+        /**
+         * 释放临时内存, 重复调用没有影响
+         */
+        void release() {
+            if (tape != null) {
+                JSONArena.free(tape);
+                JSONArena.free(strings);
+                tape = null;
+                strings = null;
+            }
+        }
+    }
+
+    public JSONArena arena() {
+        return arena;
+    }
+
+    @Override
+    long word(int index) {
+        arena.checkOpen();
+        return segment.getLong(index << 3);
+    }
+
+    private int stringPosition(int index) {
+        /** payload 中已经检查了 arena 是否关闭 */
+        return stringsBase + (int) payload(index);
+    }
+
+    @Override
+    String stringAt(int index) {
+        int position = stringPosition(index);
+        int bytes = segment.getInt(position);
+        char[] chars = new char[bytes];
+        int len = decodeUTF8(segment, position + 4, bytes, chars);
+        return new String(chars, 0, len);
+    }
+
+    /**
+     * 边解码边比较, 不创建 String
+     */
+    @Override
+    boolean stringEquals(int index, String value) {
+        int position = stringPosition(index);
+        int bytes = segment.getInt(position);
+        int len = value.length();
+        if (bytes < len || bytes > len * 3) {
+            return false;
+        }
+
+        int i = position + 4, end = i + bytes, j = 0;
+        while (i < end) {
+            int b = segment.get(i);
+            if (b >= 0) {
+                if (j == len || value.charAt(j++) != b) {
+                    return false;
+                }
+                i++;
+                continue;
+            }
+
+            int c;
+            if ((b & 0xE0) == 0xC0) {
+                c = (b & 0x1F) << 6 | (segment.get(i + 1) & 0x3F);
+                i += 2;
+            } else if ((b & 0xF0) == 0xE0) {
+                c = (b & 0x0F) << 12 | (segment.get(i + 1) & 0x3F) << 6 | (segment.get(i + 2) & 0x3F);
+                i += 3;
+            } else {
+                int codePoint = (b & 0x07) << 18 | (segment.get(i + 1) & 0x3F) << 12 //
+                                | (segment.get(i + 2) & 0x3F) << 6 | (segment.get(i + 3) & 0x3F);
+                i += 4;
+                if (j + 1 >= len || value.charAt(j++) != Character.highSurrogate(codePoint)) {
+                    return false;
+                }
+                c = Character.lowSurrogate(codePoint);
+            }
+
+            if (j == len || value.charAt(j++) != c) {
+                return false;
+            }
+        }
+        return j == len;
+    }
+
+    @Override
+    void writeString(SerializeWriter out, int index) {
+        out.writeString(stringAt(index));
+    }
+
+    /**
+     * UTF-8 编码; 单独的代理字符按 3 字节编码, 解码后原样恢复
+     */
+    private static int encodeUTF8(char[] chars, int off, int len, ByteBuffer out, int position) {
+        int start = position;
+        for (int i = off, end = off + len; i < end; ++i) {
+            char c = chars[i];
+            if (c < 0x80) {
+                out.put(position++, (byte) c);
+            } else if (c < 0x800) {
+                out.put(position++, (byte) (0xC0 | c >> 6));
+                out.put(position++, (byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                out.put(position++, (byte) (0xF0 | codePoint >> 18));
+                out.put(position++, (byte) (0x80 | codePoint >> 12 & 0x3F));
+                out.put(position++, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                out.put(position++, (byte) (0x80 | codePoint & 0x3F));
+            } else {
+                out.put(position++, (byte) (0xE0 | c >> 12));
+                out.put(position++, (byte) (0x80 | c >> 6 & 0x3F));
+                out.put(position++, (byte) (0x80 | c & 0x3F));
+            }
+        }
+        return position - start;
+    }
+
+    private static int decodeUTF8(ByteBuffer in, int position, int bytes, char[] chars) {
+        int j = 0;
+        for (int i = position, end = position + bytes; i < end;) {
+            int b = in.get(i);
+            if (b >= 0) {
+                chars[j++] = (char) b;
+                i++;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[j++] = (char) ((b & 0x1F) << 6 | (in.get(i + 1) & 0x3F));
+                i += 2;
+            } else if ((b & 0xF0) == 0xE0) {
+                chars[j++] = (char) ((b & 0x0F) << 12 | (in.get(i + 1) & 0x3F) << 6 | (in.get(i + 2) & 0x3F));
+                i += 3;
+            } else {
+                int codePoint = (b & 0x07) << 18 | (in.get(i + 1) & 0x3F) << 12 //
+                                | (in.get(i + 2) & 0x3F) << 6 | (in.get(i + 3) & 0x3F);
+                chars[j++] = Character.highSurrogate(codePoint);
+                chars[j++] = Character.lowSurrogate(codePoint);
+                i += 4;
+            }
+        }
+        return j;
+    }
+}
@@ -0,0 +1,643 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.JSONNumber;
+import com.kdocke.fastjson.JSONObject;
+import com.kdocke.fastjson.util.EiselLemire;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+
+/**
+ * 非阻塞的增量解析器
+ * 调用方把收到的 UTF-8 字节块依次 feed 进来, 解析器在任意位置(包括 token 中间、多字节字符中间)暂停,
+ * 下一块字节到达时从暂停处继续, 解析出的完整顶层值通过 hasNext() / next() 取出, 整个过程不会阻塞。
+ *
+ * DefaultJSONParser 的 parseObject / parseArray 依赖递归调用栈, 无法在中途挂起,
+ * 这里把递归改成显式的容器栈 + 状态, 词法状态也保存在字段里。
+ * 连续的多个顶层值(例如按行分隔的 JSON)会依次输出。
+ * 只接受标准 JSON, 不支持 DefaultJSONParser 的 Set、new Date(...) 等扩展语法。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:14
+ */
+public class AsyncJSONParser {
+
+    /** 词法状态: 在 token 之间 */
+    private final static int    LEX_NONE           = 0;
+    /** 词法状态: 在字符串中 */
+    private final static int    LEX_STRING         = 1;
+    /** 词法状态: 在数字中 */
+    private final static int    LEX_NUMBER         = 2;
+    /** 词法状态: 在 true / false / null 中 */
+    private final static int    LEX_LITERAL        = 3;
+
+    /** 转义状态: 刚读到 '\' */
+    private final static int    ESC_START          = 1;
+    /** 转义状态: 在 \\uXXXX 中 */
+    private final static int    ESC_UNICODE        = 2;
+
+    /** 语法状态: 顶层, 期望一个值 */
+    private final static int    ROOT               = 0;
+    /** 语法状态: 刚读到 '{', 期望 key 或 '}' */
+    private final static int    OBJECT_START       = 1;
+    /** 语法状态: 读到 ',' 之后, 期望 key */
+    private final static int    OBJECT_KEY         = 2;
+    /** 语法状态: 读到 key 之后, 期望 ':' */
+    private final static int    OBJECT_COLON       = 3;
+    /** 语法状态: 读到 ':' 之后, 期望值 */
+    private final static int    OBJECT_VALUE       = 4;
+    /** 语法状态: 读到值之后, 期望 ',' 或 '}' */
+    private final static int    OBJECT_NEXT        = 5;
+    /** 语法状态: 刚读到 '[', 期望值或 ']' */
+    private final static int    ARRAY_START        = 6;
+    /** 语法状态: 读到 ',' 之后, 期望值 */
+    private final static int    ARRAY_VALUE        = 7;
+    /** 语法状态: 读到值之后, 期望 ',' 或 ']' */
+    private final static int    ARRAY_NEXT         = 8;
+
+    /** null 不能放进 ArrayDeque, 用它占位 */
+    private final static Object NULL               = new Object();
+
+    private final SymbolTable   symbolTable;
+    private final NumberMode    numberMode;
+
+    /** 已经解析完成的顶层值 */
+    private final ArrayDeque<Object> values        = new ArrayDeque<>();
+
+    /** 容器栈, 以及每一层等待赋值的 key 和父层的语法状态 */
+    private Object[]            stack              = new Object[16];
+    private String[]            keys               = new String[16];
+    private int[]               states             = new int[16];
+    private int                 depth;
+    private int                 state              = ROOT;
+
+    private int                 lexState           = LEX_NONE;
+    /** 当前字符串是否是 key */
+    private boolean             isKey;
+    private int                 escape;
+    private int                 unicodeCount;
+    private int                 unicodeValue;
+
+    /** 未读完的 UTF-8 多字节序列 */
+    private int                 utf8Need;
+    private int                 utf8Code;
+    private int                 utf8Min;
+
+    /** 当前 token 的字符 */
+    private char[]              sbuf               = new char[256];
+    private int                 sp;
+
+    /** 堆外 ByteBuffer 的中转缓冲区 */
+    private byte[]              chunk;
+
+    /** 之前输入的字节数, 以及当前字节块在数组中的起始位置 */
+    private long                offset;
+    private int                 start;
+    private boolean             ended;
+
+    public AsyncJSONParser(){
+        this(ParserConfig.getGlobalInstance());
+    }
+
+    public AsyncJSONParser(ParserConfig config){
+        this.symbolTable = config.symbolTable;
+        this.numberMode = config.getNumberMode();
+    }
+
+    /**
+     * 输入一块字节, 会读完 position 到 limit 之间的全部内容
+     * @param buffer UTF-8 字节
+     */
+    public void feed(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int len = buffer.remaining();
+            feed(buffer.array(), buffer.arrayOffset() + buffer.position(), len);
+            buffer.position(buffer.position() + len);
+            return;
+        }
+
+        if (chunk == null) {
+            chunk = new byte[1024 * 8];
+        }
+        while (buffer.hasRemaining()) {
+            int len = Math.min(buffer.remaining(), chunk.length);
+            buffer.get(chunk, 0, len);
+            feed(chunk, 0, len);
+        }
+    }
+
+    /**
+     * 输入一块字节
+     * @param bytes UTF-8 字节
+     * @param off 起始位置
+     * @param len 长度
+     */
+    public void feed(byte[] bytes, int off, int len) {
+        if (ended) {
+            throw new JSONException("input already ended");
+        }
+
+        final int end = off + len;
+        int i = off;
+        start = off;
+        while (i < end) {
+            switch (lexState) {
+                case LEX_STRING:
+                    i = scanString(bytes, i, end);
+                    break;
+                case LEX_NUMBER:
+                    i = scanNumber(bytes, i, end);
+                    break;
+                case LEX_LITERAL:
+                    i = scanLiteral(bytes, i, end);
+                    break;
+                default:
+                    accept(bytes[i], i);
+                    i++;
+                    break;
+            }
+        }
+        offset += len;
+    }
+
+    /**
+     * 通知输入已经结束, 结束在数字或 true/false/null 上的最后一个值会在这里完成;
+     * 如果还有没闭合的字符串或容器, 抛出 JSONException
+     */
+    public void endOfInput() {
+        if (ended) {
+            return;
+        }
+        ended = true;
+
+        if (lexState == LEX_NUMBER) {
+            endNumber();
+        } else if (lexState == LEX_LITERAL) {
+            endLiteral();
+        }
+
+        if (lexState != LEX_NONE || depth != 0 || utf8Need != 0) {
+            throw new JSONException("unexpected end of input, pos " + offset);
+        }
+    }
+
+    /**
+     * 是否有已经解析完成的顶层值
+     * @return
+     */
+    public boolean hasNext() {
+        return !values.isEmpty();
+    }
+
+    /**
+     * 取出下一个解析完成的顶层值
+     * @return JSONObject、JSONArray、String、Number、Boolean 或 null
+     */
+    public Object next() {
+        Object value = values.poll();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value == NULL ? null : value;
+    }
+
+    /**
+     * 当前所在的容器深度, 0 表示在两个顶层值之间
+     * @return
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * 处理 token 之间的一个字节
+     */
+    private void accept(byte b, int index) {
+        switch (b) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+                return;
+            case '{':
+                expectValue(b, index);
+                push(new JSONObject(false), OBJECT_START);
+                return;
+            case '[':
+                expectValue(b, index);
+                push(new JSONArray(), ARRAY_START);
+                return;
+            case '}':
+                if (state != OBJECT_START && state != OBJECT_NEXT) {
+                    throw syntaxError(b, index);
+                }
+                value(pop());
+                return;
+            case ']':
+                if (state != ARRAY_START && state != ARRAY_NEXT) {
+                    throw syntaxError(b, index);
+                }
+                value(pop());
+                return;
+            case ':':
+                if (state != OBJECT_COLON) {
+                    throw syntaxError(b, index);
+                }
+                state = OBJECT_VALUE;
+                return;
+            case ',':
+                if (state == OBJECT_NEXT) {
+                    state = OBJECT_KEY;
+                } else if (state == ARRAY_NEXT) {
+                    state = ARRAY_VALUE;
+                } else {
+                    throw syntaxError(b, index);
+                }
+                return;
+            case '"':
+                if (state == OBJECT_START || state == OBJECT_KEY) {
+                    isKey = true;
+                } else {
+                    expectValue(b, index);
+                    isKey = false;
+                }
+                sp = 0;
+                lexState = LEX_STRING;
+                return;
+            case 't':
+            case 'f':
+            case 'n':
+                expectValue(b, index);
+                sp = 0;
+                putChar((char) b);
+                lexState = LEX_LITERAL;
+                return;
+            default:
+                if ((b >= '0' && b <= '9') || b == '-') {
+                    expectValue(b, index);
+                    sp = 0;
+                    putChar((char) b);
+                    lexState = LEX_NUMBER;
+                    return;
+                }
+                throw syntaxError(b, index);
+        }
+    }
+
+    private void expectValue(byte b, int index) {
+        if (state != ROOT && state != OBJECT_VALUE && state != ARRAY_START && state != ARRAY_VALUE) {
+            throw syntaxError(b, index);
+        }
+    }
+
+    private JSONException syntaxError(byte b, int index) {
+        return new JSONException("syntax error, unexpected '" + (char) b + "', pos " + pos(index));
+    }
+
+    /**
+     * 当前字节块中下标为 index 的字节在整个输入中的位置
+     */
+    private long pos(int index) {
+        return offset + index - start;
+    }
+
+    /**
+     * 扫描字符串内容, 返回下一个要处理的字节位置
+     */
+    private int scanString(byte[] bytes, int i, int end) {
+        while (i < end) {
+            int b = bytes[i++];
+
+            if (utf8Need != 0) {
+                if ((b & 0xC0) != 0x80) {
+                    throw new JSONException("malformed utf-8 input, pos " + pos(i - 1));
+                }
+                utf8Code = (utf8Code << 6) | (b & 0x3F);
+                if (--utf8Need == 0) {
+                    putCodePoint();
+                }
+                continue;
+            }
+
+            if (escape != 0) {
+                scanEscape(b, i - 1);
+                continue;
+            }
+
+            if (b == '"') {
+                endString();
+                return i;
+            }
+
+            if (b == '\\') {
+                escape = ESC_START;
+            } else if (b >= 0) {
+                putChar((char) b);
+            } else if ((b & 0xE0) == 0xC0) {
+                utf8Need = 1;
+                utf8Code = b & 0x1F;
+                utf8Min = 0x80;
+            } else if ((b & 0xF0) == 0xE0) {
+                utf8Need = 2;
+                utf8Code = b & 0x0F;
+                utf8Min = 0x800;
+            } else if ((b & 0xF8) == 0xF0) {
+                utf8Need = 3;
+                utf8Code = b & 0x07;
+                utf8Min = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+            } else {
+                throw new JSONException("malformed utf-8 input, pos " + pos(i - 1));
+            }
+        }
+        return i;
+    }
+
+    private void putCodePoint() {
+        int cp = utf8Code;
+        if (cp < utf8Min || cp > Character.MAX_CODE_POINT || (cp < 0x10000 && Character.isSurrogate((char) cp))) {
+            throw new JSONException("malformed utf-8 input, pos " + offset);
+        }
+
+        if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            putChar((char) cp);
+        } else {
+            putChar(Character.highSurrogate(cp));
+            putChar(Character.lowSurrogate(cp));
+        }
+    }
+
+    private void scanEscape(int b, int index) {
+        if (escape == ESC_UNICODE) {
+            int digit = Character.digit(b, 16);
+            if (digit < 0) {
+                throw new JSONException("illegal unicode escape, pos " + pos(index));
+            }
+            unicodeValue = (unicodeValue << 4) | digit;
+            if (++unicodeCount == 4) {
+                putChar((char) unicodeValue);
+                escape = 0;
+            }
+            return;
+        }
+
+        escape = 0;
+        switch (b) {
+            case '"':
+                putChar('"');
+                break;
+            case '\\':
+                putChar('\\');
+                break;
+            case '/':
+                putChar('/');
+                break;
+            case '\'':
+                putChar('\'');
+                break;
+            case 'b':
+                putChar('\b');
+                break;
+            case 'f':
+                putChar('\f');
+                break;
+            case 'n':
+                putChar('\n');
+                break;
+            case 'r':
+                putChar('\r');
+                break;
+            case 't':
+                putChar('\t');
+                break;
+            case 'u':
+                escape = ESC_UNICODE;
+                unicodeCount = 0;
+                unicodeValue = 0;
+                break;
+            default:
+                throw new JSONException("illegal escape character '" + (char) b + "', pos " + pos(index));
+        }
+    }
+
+    private void endString() {
+        lexState = LEX_NONE;
+
+        if (isKey) {
+            keys[depth - 1] = symbolTable.addSymbol(sbuf, 0, sp);
+            state = OBJECT_COLON;
+        } else {
+            value(new String(sbuf, 0, sp));
+        }
+    }
+
+    /**
+     * 扫描数字, 遇到不属于数字的字节时结束, 该字节留给下一个状态处理
+     */
+    private int scanNumber(byte[] bytes, int i, int end) {
+        while (i < end) {
+            byte b = bytes[i];
+            if ((b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-') {
+                putChar((char) b);
+                i++;
+                continue;
+            }
+
+            endNumber();
+            return i;
+        }
+        return i;
+    }
+
+    /**
+     * 按 ParserConfig 的 NumberMode 转换数字, 和 DefaultJSONParser 得到相同的类型:
+     * 整数为 Integer / Long / BigInteger, 小数为 Double 或 BigDecimal, LAZY 时为 JSONNumber;
+     * 检查格式的同时累计有效数字和指数, Double 用 Eisel-Lemire 直接计算
+     */
+    private void endNumber() {
+        lexState = LEX_NONE;
+
+        final char[] chars = sbuf;
+        final int len = sp;
+        int i = 0;
+
+        boolean negative = chars[0] == '-';
+        if (negative) {
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0, exponent = 0;
+        boolean truncated = false, isDouble = false;
+
+        /** 整数部分, 最多保留 19 位有效数字 */
+        int digitStart = i;
+        for (; i < len && chars[i] >= '0' && chars[i] <= '9'; i++) {
+            if (digits < 19) {
+                mantissa = mantissa * 10 + (chars[i] - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= chars[i] != '0';
+            }
+        }
+        boolean valid = i > digitStart;
+
+        if (valid && i < len && chars[i] == '.') {
+            isDouble = true;
+            digitStart = ++i;
+            for (; i < len && chars[i] >= '0' && chars[i] <= '9'; i++) {
+                if (digits < 19) {
+                    mantissa = mantissa * 10 + (chars[i] - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= chars[i] != '0';
+                }
+            }
+            valid = i > digitStart;
+        }
+
+        if (valid && i < len && (chars[i] == 'e' || chars[i] == 'E')) {
+            isDouble = true;
+            boolean negativeExponent = false;
+            if (++i < len && (chars[i] == '+' || chars[i] == '-')) {
+                negativeExponent = chars[i++] == '-';
+            }
+
+            int exp = 0;
+            digitStart = i;
+            for (; i < len && chars[i] >= '0' && chars[i] <= '9'; i++) {
+                /** 指数再大也只会得到 0 或者无穷大 */
+                if (exp < 100000) {
+                    exp = exp * 10 + (chars[i] - '0');
+                }
+            }
+            valid = i > digitStart;
+            exponent += negativeExponent ? -exp : exp;
+        }
+
+        if (!valid || i != len) {
+            throw new JSONException("illegal number " + new String(chars, 0, len) + ", pos " + offset);
+        }
+
+        Number number;
+        if (numberMode == NumberMode.LAZY) {
+            number = new JSONNumber(new String(chars, 0, len));
+        } else if (!isDouble) {
+            if (!truncated && exponent == 0 && mantissa >= 0) {
+                long value = negative ? -mantissa : mantissa;
+                number = value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE //
+                    ? (Number) JSONLexerBase.intValueOf((int) value) //
+                    : (Number) value;
+            } else {
+                BigInteger bigValue = new BigInteger(new String(chars, 0, len));
+                number = bigValue.bitLength() < 64 ? (Number) bigValue.longValue() : bigValue;
+            }
+        } else if (numberMode == NumberMode.BIG_DECIMAL) {
+            number = new BigDecimal(chars, 0, len);
+        } else {
+            double value = truncated ? Double.NaN : EiselLemire.toDouble(mantissa, exponent, negative);
+            number = Double.isNaN(value) ? Double.parseDouble(new String(chars, 0, len)) : value;
+        }
+        value(number);
+    }
+
+    /**
+     * 扫描 true / false / null, 遇到非字母字节时结束, 该字节留给下一个状态处理
+     */
+    private int scanLiteral(byte[] bytes, int i, int end) {
+        while (i < end) {
+            byte b = bytes[i];
+            if (b >= 'a' && b <= 'z') {
+                putChar((char) b);
+                i++;
+                continue;
+            }
+
+            endLiteral();
+            return i;
+        }
+        return i;
+    }
+
+    private void endLiteral() {
+        lexState = LEX_NONE;
+
+        String text = new String(sbuf, 0, sp);
+        if ("true".equals(text)) {
+            value(Boolean.TRUE);
+        } else if ("false".equals(text)) {
+            value(Boolean.FALSE);
+        } else if ("null".equals(text)) {
+            value(null);
+        } else {
+            throw new JSONException("syntax error, unexpected " + text + ", pos " + offset);
+        }
+    }
+
+    /**
+     * 一个值解析完成: 放进当前容器, 或者作为顶层值输出
+     */
+    private void value(Object value) {
+        if (depth == 0) {
+            values.add(value == null ? NULL : value);
+            return;
+        }
+
+        Object container = stack[depth - 1];
+        if (state == OBJECT_VALUE) {
+            ((JSONObject) container).put(keys[depth - 1], value);
+            keys[depth - 1] = null;
+            state = OBJECT_NEXT;
+        } else {
+            ((JSONArray) container).add(value);
+            state = ARRAY_NEXT;
+        }
+    }
+
+    private void push(Object container, int newState) {
+        if (depth == stack.length) {
+            int newLen = stack.length * 2;
+            Object[] newStack = new Object[newLen];
+            String[] newKeys = new String[newLen];
+            int[] newStates = new int[newLen];
+            System.arraycopy(stack, 0, newStack, 0, depth);
+            System.arraycopy(keys, 0, newKeys, 0, depth);
+            System.arraycopy(states, 0, newStates, 0, depth);
+            stack = newStack;
+            keys = newKeys;
+            states = newStates;
+        }
+
+        stack[depth] = container;
+        states[depth] = state;
+        depth++;
+        state = newState;
+    }
+
+    private Object pop() {
+        depth--;
+        Object container = stack[depth];
+        stack[depth] = null;
+        state = states[depth];
+        return container;
+    }
+
+    private void putChar(char ch) {
+        if (sp == sbuf.length) {
+            char[] newsbuf = new char[sbuf.length * 2];
+            System.arraycopy(sbuf, 0, newsbuf, 0, sbuf.length);
+            sbuf = newsbuf;
+        }
+        sbuf[sp++] = ch;
+    }
+
+}
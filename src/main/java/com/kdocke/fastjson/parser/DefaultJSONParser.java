@@ -5,8 +5,10 @@ import com.kdocke.fastjson.JSONException;
 import com.kdocke.fastjson.JSONObject;
 
 import java.io.Closeable;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 import static com.kdocke.fastjson.parser.JSONLexer.EOI;
@@ -28,6 +30,10 @@ public class DefaultJSONParser implements Closeable {
      */
     public final SymbolTable symbolTable;
     protected ParserConfig config;
+    /**
+     * 数字的解析方式, 创建 parser 时从 config 中读取
+     */
+    protected final NumberMode numberMode;
 
     public final JSONLexer lexer;
 
@@ -39,6 +45,11 @@ public class DefaultJSONParser implements Closeable {
      */
     private int contextArrayIndex  = 0;
 
+    /**
+     * 当前值的字段投影, 为 null 时解析全部字段
+     */
+    protected Projection               projection;
+
     /**
      * @param input json串
      * @param config
@@ -48,6 +59,38 @@ public class DefaultJSONParser implements Closeable {
         this(input, new JSONScanner(input, features), config);
     }
 
+    /**
+     * 直接解析 UTF-8 字节, 不需要先解码成 String
+     * @param input json 字节
+     * @param off 起始位置
+     * @param len 字节长度
+     * @param config
+     * @param features
+     */
+    public DefaultJSONParser(final byte[] input, int off, int len, final ParserConfig config, int features){
+        this(input, new JSONUTF8Scanner(input, off, len, features), config);
+    }
+
+    /**
+     * 从 Reader 中流式读取, 输入不需要整体放进内存
+     * @param reader json 输入流
+     * @param config
+     * @param features
+     */
+    public DefaultJSONParser(final Reader reader, final ParserConfig config, int features){
+        this(reader, new JSONReaderScanner(reader, features), config);
+    }
+
+    /**
+     * 直接解析 UTF-8 编码的 ByteBuffer(堆内或者堆外)
+     * @param input json 字节
+     * @param config
+     * @param features
+     */
+    public DefaultJSONParser(final ByteBuffer input, final ParserConfig config, int features){
+        this(input, new JSONByteBufferScanner(input, features), config);
+    }
+
     /**
      * 构造时，根据首字符判断是 '{' 还是 '['
      * @param input json 串
@@ -59,6 +102,7 @@ public class DefaultJSONParser implements Closeable {
         this.input = input;
         this.config = config;
         this.symbolTable = config.symbolTable;
+        this.numberMode = config.getNumberMode();
 
         int ch = lexer.getCurrent();
         if (ch == '{'){
@@ -102,15 +146,11 @@ public class DefaultJSONParser implements Closeable {
                 JSONObject object = new JSONObject(false);
                 return parseObject(object, fieldName);
             case LITERAL_INT:
-                /** 解析整数类型，预读下一个 token */
-                Number intValue = lexer.integerValue();
-                lexer.nextToken();
-                return intValue;
             case LITERAL_FLOAT:
-                /** 探测到是浮点类型，解析值 */
-                Object value = lexer.decimalValue(false);
+                /** 解析数字类型，预读下一个 token */
+                Number numberValue = lexer.numberValue(numberMode);
                 lexer.nextToken();
-                return value;
+                return numberValue;
             case LITERAL_STRING:
                 /** 探测到是字符串类型，解析值 */
                 String stringLiteral = lexer.stringVal();
@@ -163,6 +203,124 @@ public class DefaultJSONParser implements Closeable {
         }
     }
 
+    /**
+     * 以事件的方式遍历 json, 不构造 JSONObject / JSONArray:
+     * 整数、小数直接以 long、double 回调, 字符串和 key 复用词法分析器的 sbuf
+     * @param visitor
+     */
+    public void accept(JSONVisitor visitor) {
+        final JSONLexerBase lexer = (JSONLexerBase) this.lexer;
+
+        if (lexer.token() == EOF && lexer.isBlankInput()) {
+            return;
+        }
+        acceptValue(lexer, visitor);
+    }
+
+    private void acceptValue(final JSONLexerBase lexer, final JSONVisitor visitor) {
+        switch (lexer.token()) {
+            case LBRACE:
+                acceptObject(lexer, visitor);
+                return;
+            case LBRACKET:
+                acceptArray(lexer, visitor);
+                return;
+            case LITERAL_INT:
+                /** 不超过 18 个字符一定在 long 范围内, 更长的数字交给 integerValue 判断 */
+                if (lexer.sp < 19) {
+                    visitor.onLong(lexer.longValue());
+                } else {
+                    Number intValue = lexer.integerValue();
+                    if (intValue instanceof BigInteger) {
+                        visitor.onBigInteger((BigInteger) intValue);
+                    } else {
+                        visitor.onLong(intValue.longValue());
+                    }
+                }
+                break;
+            case LITERAL_FLOAT:
+                visitor.onDouble(lexer.doubleValue());
+                break;
+            case LITERAL_STRING:
+                visitor.onString(lexer.stringChars(), 0, lexer.stringLength());
+                break;
+            case TRUE:
+                visitor.onBoolean(true);
+                break;
+            case FALSE:
+                visitor.onBoolean(false);
+                break;
+            case NULL:
+            case UNDEFINED:
+                visitor.onNull();
+                break;
+            default:
+                throw new JSONException("syntax error, " + JSONToken.name(lexer.token()) + ", pos " + lexer.pos());
+        }
+        lexer.nextToken();
+    }
+
+    private void acceptObject(final JSONLexerBase lexer, final JSONVisitor visitor) {
+        visitor.onObjectStart();
+
+        lexer.nextToken();
+        if (lexer.token() != RBRACE) {
+            for (;;) {
+                if (lexer.token() != LITERAL_STRING) {
+                    throw new JSONException("syntax error, expect key, actual " + JSONToken.name(lexer.token()) + ", pos " + lexer.pos());
+                }
+
+                char[] key = lexer.stringChars();
+                int len = lexer.stringLength();
+                String symbol = symbolTable.addSymbol(key, 0, len, SymbolTable.hash(key, 0, len));
+                visitor.onKey(key, 0, len, symbol);
+
+                lexer.nextToken();
+                if (lexer.token() != COLON) {
+                    throw new JSONException("expect ':' at " + lexer.pos() + ", name " + symbol);
+                }
+                lexer.nextToken();
+
+                acceptValue(lexer, visitor);
+
+                if (lexer.token() == COMMA) {
+                    lexer.nextToken();
+                    continue;
+                }
+                if (lexer.token() == RBRACE) {
+                    break;
+                }
+                throw new JSONException("syntax error, " + JSONToken.name(lexer.token()) + ", pos " + lexer.pos());
+            }
+        }
+
+        visitor.onObjectEnd();
+        lexer.nextToken();
+    }
+
+    private void acceptArray(final JSONLexerBase lexer, final JSONVisitor visitor) {
+        visitor.onArrayStart();
+
+        lexer.nextToken();
+        if (lexer.token() != RBRACKET) {
+            for (;;) {
+                acceptValue(lexer, visitor);
+
+                if (lexer.token() == COMMA) {
+                    lexer.nextToken();
+                    continue;
+                }
+                if (lexer.token() == RBRACKET) {
+                    break;
+                }
+                throw new JSONException("unclosed jsonArray, pos " + lexer.pos());
+            }
+        }
+
+        visitor.onArrayEnd();
+        lexer.nextToken();
+    }
+
     /**
      * 解析 Array
      * @param array set 集合
@@ -185,6 +343,14 @@ public class DefaultJSONParser implements Closeable {
         // 根据期望的 Token 类型读取下一个 Token
         lexer.nextToken(LITERAL_STRING);
 
+        /** 有投影时只解析 [*] 选中的元素, 没有 [*] 时跳过所有元素 */
+        final Projection projection = this.projection;
+        Projection elements = null;
+        if (projection != null) {
+            elements = projection.elements();
+            this.projection = elements == null || elements.isAll() ? null : elements;
+        }
+
         ParseContext context = this.context;
         this.setContext(array, fieldName);
         try {
@@ -196,14 +362,32 @@ public class DefaultJSONParser implements Closeable {
                     continue;
                 }
 
+                if (projection != null && elements == null) {
+                    int token = lexer.token();
+                    if (token == RBRACKET) {
+                        lexer.nextToken(JSONToken.COMMA);
+                        return;
+                    }
+                    if (token == EOF) {
+                        throw new JSONException("unclosed jsonArray");
+                    }
+
+                    /** '{' 或 '[' 已经被读过, 跳过剩余部分; 其它值已经是一个完整的 token */
+                    if (token == LBRACE || token == LBRACKET) {
+                        lexer.skipNested(1);
+                    }
+                    lexer.nextToken();
+                    if (lexer.token() == JSONToken.COMMA) {
+                        lexer.nextToken(LITERAL_STRING);
+                    }
+                    continue;
+                }
+
                 Object value;
                 switch (lexer.token()){
                     case LITERAL_INT:
-                        value = lexer.integerValue();
-                        lexer.nextToken(JSONToken.COMMA);
-                        break;
                     case LITERAL_FLOAT:
-                        value = lexer.decimalValue(false);
+                        value = lexer.numberValue(numberMode);
                         lexer.nextToken(JSONToken.COMMA);
                         break;
                     case LITERAL_STRING:
@@ -255,6 +439,7 @@ public class DefaultJSONParser implements Closeable {
             }
         }finally {
             this.setContext(context);
+            this.projection = projection;
         }
     }
 
@@ -289,6 +474,7 @@ public class DefaultJSONParser implements Closeable {
             throw new JSONException("syntax error");
         }
 
+        final Projection projection = this.projection;
         ParseContext context = this.context;
         try {
             Map map = object instanceof JSONObject ? ((JSONObject) object).getInnerMap() : object;
@@ -356,6 +542,28 @@ public class DefaultJSONParser implements Closeable {
 
                 lexer.resetStringPosition();
 
+                if (projection != null) {
+                    Projection fieldProjection = projection.field(key);
+                    if (fieldProjection == null) {
+                        /** 不在投影中的字段, 由词法分析器直接跳过 */
+                        lexer.skipValue();
+                        lexer.skipWhitespace();
+                        ch = lexer.getCurrent();
+                        if (ch == ',') {
+                            lexer.next();
+                            continue;
+                        } else if (ch == '}') {
+                            lexer.next();
+                            lexer.resetStringPosition();
+                            lexer.nextToken();
+                            return object;
+                        } else {
+                            throw new JSONException("syntax error, position at " + lexer.pos() + ", name " + key);
+                        }
+                    }
+                    this.projection = fieldProjection.isAll() ? null : fieldProjection;
+                }
+
                 if (!setContextFlag){
                     if (this.context != null && fieldName == this.context.fieldName && object == this.context.object) {
                         context = this.context;
@@ -384,11 +592,7 @@ public class DefaultJSONParser implements Closeable {
                 } else if (ch >= '0' && ch <= '9' || ch == '-') {
                     /** 扫描数字 */
                     lexer.scanNumber();
-                    if (lexer.token() == LITERAL_INT) {
-                        value = lexer.integerValue();
-                    } else {
-                        value = lexer.decimalValue(false);
-                    }
+                    value = lexer.numberValue(numberMode);
 
                     map.put(key, value);
                 }else if (ch == '['){   // 减少嵌套，兼容android
@@ -491,10 +695,23 @@ public class DefaultJSONParser implements Closeable {
             }
         }finally {
             this.setContext(context);
+            this.projection = projection;
         }
 
     }
 
+    public Projection getProjection() {
+        return projection;
+    }
+
+    /**
+     * 设置字段投影, 之后的 parse 只构造投影中的路径
+     * @param projection 为 null 时解析全部字段
+     */
+    public void setProjection(Projection projection) {
+        this.projection = projection;
+    }
+
     public void setContext(ParseContext context) {
         this.context = context;
     }
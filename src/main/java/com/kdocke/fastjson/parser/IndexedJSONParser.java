@@ -0,0 +1,188 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.JSONObject;
+
+import java.io.Closeable;
+
+import static com.kdocke.fastjson.parser.JSONToken.*;
+
+/**
+ * 两阶段解析的第二阶段
+ * 先由 StructuralIndex 建立结构索引, 再按索引中的位置构造 JSONObject / JSONArray:
+ * 括号、冒号、逗号直接从索引中读取, 空白已经被第一阶段跳过,
+ * 只有字符串、数字和 true / false / null 交给 JSONUTF8Scanner 扫描。
+ * 合法的 JSON 得到的结果和 DefaultJSONParser 相同, 不合法的输入会更严格地报错。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:38
+ */
+public class IndexedJSONParser implements Closeable {
+
+    private final byte[]          input;
+    private final int             end;
+    private final StructuralIndex index;
+    private final JSONUTF8Scanner lexer;
+    private final SymbolTable     symbolTable;
+    private final NumberMode      numberMode;
+
+    /**
+     * 下一个结构位置在索引中的序号
+     */
+    private int                   next;
+
+    public IndexedJSONParser(byte[] input, int off, int len, ParserConfig config, int features){
+        this.input = input;
+        this.end = off + len;
+        this.index = StructuralIndex.build(input, off, len);
+        this.lexer = new JSONUTF8Scanner(input, off, len, features);
+        this.symbolTable = config.symbolTable;
+        this.numberMode = config.getNumberMode();
+    }
+
+    public Object parse() {
+        if (index.count() == 0) {
+            /** 空白输入 */
+            return null;
+        }
+
+        Object value = parseValue();
+        if (next != index.count()) {
+            throw new JSONException("syntax error, pos " + index.position(next));
+        }
+        return value;
+    }
+
+    private Object parseValue() {
+        int pos = nextPosition("value");
+        switch (input[pos]) {
+            case '{':
+                return parseObject();
+            case '[':
+                return parseArray();
+            case '"': {
+                lexer.reset(pos);
+                lexer.scanString();
+                String value = lexer.stringVal();
+                checkTokenEnd();
+                return value;
+            }
+            case '}':
+            case ']':
+            case ':':
+            case ',':
+                throw new JSONException("syntax error, expect value, pos " + pos);
+            default:
+                return parseScalar(pos);
+        }
+    }
+
+    private Object parseScalar(int pos) {
+        lexer.reset(pos);
+        lexer.nextToken();
+
+        Object value;
+        switch (lexer.token()) {
+            case LITERAL_INT:
+            case LITERAL_FLOAT:
+                value = lexer.numberValue(numberMode);
+                break;
+            case TRUE:
+                value = Boolean.TRUE;
+                break;
+            case FALSE:
+                value = Boolean.FALSE;
+                break;
+            case NULL:
+                value = null;
+                break;
+            default:
+                throw new JSONException("syntax error, pos " + pos);
+        }
+
+        checkTokenEnd();
+        return value;
+    }
+
+    private JSONObject parseObject() {
+        JSONObject object = new JSONObject(false);
+
+        int pos = nextPosition("}");
+        if (input[pos] == '}') {
+            return object;
+        }
+
+        for (;;) {
+            if (input[pos] != '"') {
+                throw new JSONException("syntax error, expect name, pos " + pos);
+            }
+            lexer.reset(pos);
+            String key = lexer.scanSymbol(symbolTable, '"');
+            checkTokenEnd();
+
+            pos = nextPosition(":");
+            if (input[pos] != ':') {
+                throw new JSONException("expect ':' at " + pos + ", name " + key);
+            }
+
+            object.put(key, parseValue());
+
+            pos = nextPosition("}");
+            if (input[pos] == '}') {
+                return object;
+            }
+            if (input[pos] != ',') {
+                throw new JSONException("syntax error, expect , or }, pos " + pos);
+            }
+            pos = nextPosition("name");
+        }
+    }
+
+    private JSONArray parseArray() {
+        JSONArray array = new JSONArray();
+
+        if (next < index.count() && input[index.position(next)] == ']') {
+            next++;
+            return array;
+        }
+
+        for (;;) {
+            array.add(parseValue());
+
+            int pos = nextPosition("]");
+            if (input[pos] == ']') {
+                return array;
+            }
+            if (input[pos] != ',') {
+                throw new JSONException("syntax error, expect , or ], pos " + pos);
+            }
+        }
+    }
+
+    private int nextPosition(String expect) {
+        if (next == index.count()) {
+            throw new JSONException("syntax error, expect " + expect + ", actual EOF");
+        }
+        return index.position(next++);
+    }
+
+    /**
+     * 标量扫描结束的位置到下一个结构位置之间只能有空白,
+     * 例如 [1x] 中 "1" 之后的 x 在这里报错
+     */
+    private void checkTokenEnd() {
+        int limit = next < index.count() ? index.position(next) : end;
+        if (lexer.bp > limit) {
+            throw new JSONException("syntax error, pos " + limit);
+        }
+        for (int i = lexer.bp; i < limit; ++i) {
+            if (!JSONLexerBase.isWhitespace((char) input[i])) {
+                throw new JSONException("syntax error, pos " + i);
+            }
+        }
+    }
+
+    public void close() {
+        lexer.close();
+    }
+}
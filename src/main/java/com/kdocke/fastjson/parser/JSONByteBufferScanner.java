@@ -0,0 +1,289 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * ByteBuffer 扫描器
+ * 直接扫描 UTF-8 编码的 ByteBuffer(堆内或者堆外), 也可以按窗口映射一个 FileChannel,
+ * 让文件内容由操作系统的 page cache 提供, 不需要 文件 -> byte[] -> String 两次拷贝。
+ *
+ * 映射文件时窗口默认 64M, 扫描到窗口末尾就从正在扫描的 token(np) 处重新映射下一个窗口,
+ * 所以超过 2G 的文件也可以解析, np、sp 描述的 token 区间在重新映射之后依然有效。
+ * 和 JSONUTF8Scanner 一样, bp、np 是字节下标, sp 是字符个数。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:13
+ */
+public class JSONByteBufferScanner extends JSONUTF8LexerBase {
+
+    /**
+     * 映射窗口的默认大小
+     */
+    public final static int   DEFAULT_WINDOW_SIZE = 1024 * 1024 * 64;
+
+    /**
+     * 当前窗口, 下标 0 对应文件中的 windowStart, end 是窗口中有效字节的结束位置
+     */
+    private ByteBuffer        buf;
+
+    /**
+     * 映射模式下的文件, 直接扫描 ByteBuffer 时为 null
+     */
+    private final FileChannel channel;
+    private final long        fileSize;
+    private long              windowStart;
+    private int               windowSize;
+
+    /**
+     * 四字节序列解码出代理对时, 低位代理暂存在这里, 下一次 next() 直接返回, bp 不动
+     */
+    private char              lowSurrogate;
+
+    public JSONByteBufferScanner(ByteBuffer input){
+        this(input, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    /**
+     * 扫描 input 的 position 到 limit 之间的字节, 不会修改 input 的 position
+     * @param input UTF-8 编码的 json
+     * @param features
+     */
+    public JSONByteBufferScanner(ByteBuffer input, int features) {
+        super(features);
+
+        buf = input.slice();
+        end = buf.limit();
+        channel = null;
+        fileSize = end;
+
+        start();
+    }
+
+    public JSONByteBufferScanner(FileChannel channel, int features) {
+        this(channel, DEFAULT_WINDOW_SIZE, features);
+    }
+
+    /**
+     * 按窗口映射整个文件
+     * @param channel 文件
+     * @param windowSize 映射窗口大小
+     * @param features
+     */
+    public JSONByteBufferScanner(FileChannel channel, int windowSize, int features) {
+        super(features);
+
+        this.channel = channel;
+        this.windowSize = windowSize;
+        try {
+            fileSize = channel.size();
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+        map(0);
+
+        start();
+    }
+
+    private void start() {
+        bp = -1;
+        next();
+        /**
+         * 65279: UTF-8 的 BOM (EF BB BF) 解码后就是 \65279
+         */
+        if (ch == 65279) {
+            next();
+        }
+    }
+
+    private void map(long start) {
+        long size = Math.min(fileSize - start, windowSize);
+        try {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+        windowStart = start;
+        end = (int) size;
+    }
+
+    /**
+     * 读取下一个字符
+     * 剩余字节不足一个完整的 UTF-8 序列并且文件还有内容时, 先重新映射窗口
+     * @return
+     */
+    public final char next() {
+        if (lowSurrogate != 0) {
+            ch = lowSurrogate;
+            lowSurrogate = 0;
+            return ch;
+        }
+
+        int index = bp < 0 ? 0 : bp + width(bp);
+        if (index + 3 >= end && windowStart + end < fileSize) {
+            index = remap(index);
+        }
+        bp = index;
+
+        if (index >= end) {
+            return ch = EOI;
+        }
+
+        byte b = buf.get(index);
+        if (b >= 0) {
+            return ch = (char) b;
+        }
+
+        char c = decode(index, b);
+        if (Character.isHighSurrogate(c)) {
+            lowSurrogate = Character.lowSurrogate(codePoint(index, b));
+        }
+        return ch = c;
+    }
+
+    /**
+     * 从正在使用的 token(sp > 0 时从 np 开始) 或者 index 处映射下一个窗口,
+     * token 比窗口还长时窗口扩大一倍
+     * @param index 将要读取的位置
+     * @return index 在新窗口中的位置
+     */
+    private int remap(int index) {
+        int keep = index;
+        if (sp > 0 && np < index) {
+            keep = np < 0 ? 0 : np;
+        }
+
+        while (index - keep + 4 > windowSize && windowSize < Integer.MAX_VALUE) {
+            windowSize = (int) Math.min((long) windowSize * 2, Integer.MAX_VALUE);
+        }
+        map(windowStart + keep);
+
+        np -= keep;
+        pos -= keep;
+        return index - keep;
+    }
+
+    protected final byte byteAt(int index) {
+        return buf.get(index);
+    }
+
+    /**
+     * 错误位置换算成文件中的位置
+     */
+    protected final JSONException malformed(int index) {
+        return new JSONException("malformed utf-8 input, pos " + (windowStart + index));
+    }
+
+    protected final void arrayCopy(int srcPos, char[] dest, int destPos, int length) {
+        decode(srcPos, length, dest, destPos);
+    }
+
+    protected final void copyTo(int offset, int count, char[] dest) {
+        decode(offset, count, dest, 0);
+    }
+
+    public final String stringVal() {
+        if (!hasSpecial) {
+            return this.subString(np + 1, sp);
+        } else {
+            return new String(sbuf, 0, sp);
+        }
+    }
+
+    public final BigDecimal decimalValue() {
+        String number = numberString();
+        return new BigDecimal(number);
+    }
+
+    /**
+     * 解码 offset 开始的 count 个字符, 借用 sbuf 作为解码缓冲区
+     * @param offset 字节下标
+     * @param count 字符个数
+     * @return
+     */
+    public final String subString(int offset, int count) {
+        if (count > sbuf.length) {
+            sbuf = new char[count];
+        }
+        decode(offset, count, sbuf, 0);
+        return new String(sbuf, 0, count);
+    }
+
+    public final char charAt(int index) {
+        if (index >= end) {
+            return EOI;
+        }
+
+        byte b = buf.get(index);
+        if (b >= 0) {
+            return (char) b;
+        }
+        return decode(index, b);
+    }
+
+    public final String numberString() {
+        int offset = np;
+        if (offset == -1) {
+            offset = 0;
+        }
+
+        /** 取 token 最后一个字符 */
+        char chLocal = charAt(offset + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        /** 取数字类型字符串，不包括后缀类型 */
+        return this.subString(offset, sp);
+    }
+
+    public final String addSymbol(int offset, int len, int hash, final SymbolTable symbolTable) {
+        if (len > sbuf.length) {
+            sbuf = new char[len];
+        }
+        decode(offset, len, sbuf, 0);
+        return symbolTable.addSymbol(sbuf, 0, len, hash);
+    }
+
+    @Override
+    public boolean isBlankInput() {
+        for (int i = 0; i < end; ++i) {
+            if (!isWhitespace((char) buf.get(i))) {
+                return false;
+            }
+        }
+
+        token = JSONToken.EOF;
+        return true;
+    }
+
+    @Override
+    public boolean isEOF() {
+        /** 文件已经映射到末尾, 并且到达了窗口末尾、或者遇到 EOI 结束符 认为结束 */
+        return windowStart + end >= fileSize && (bp == end || ch == EOI && bp + 1 == end);
+    }
+
+    /**
+     * 映射模式下关闭文件
+     */
+    @Override
+    public void close() {
+        super.close();
+
+        this.buf = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭失败不影响解析结果
+            }
+        }
+    }
+
+}
@@ -39,10 +39,18 @@ public interface JSONLexer {
 
     Number integerValue();
     Number decimalValue(boolean decimal);
+
+    /**
+     * 按 NumberMode 读取当前的数字 token (LITERAL_INT 或 LITERAL_FLOAT)
+     */
+    Number numberValue(NumberMode mode);
     String stringVal();
 
     void skipWhitespace();
 
+    void skipValue();
+    void skipNested(int depth);
+
     void close();
 
 }
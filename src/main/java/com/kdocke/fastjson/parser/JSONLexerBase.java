@@ -1,6 +1,8 @@
 package com.kdocke.fastjson.parser;
 
 import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.JSONNumber;
+import com.kdocke.fastjson.util.EiselLemire;
 
 import java.io.Closeable;
 import java.math.BigDecimal;
@@ -49,6 +51,13 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     protected static final long  MULTMIN_RADIX_TEN     = Long.MIN_VALUE / 10;
 
+    /** scanNumber 累计的有效数字 (最多 19 位, 按无符号数), 数字的值为 numberMantissa * 10^numberExponent */
+    protected long                           numberMantissa;
+    protected int                            numberExponent;
+    protected boolean                        numberNegative;
+    /** numberMantissa 和 numberExponent 是否精确表示了这个数字 */
+    protected boolean                        numberExact;
+
     /**
      * 匹配状态
      */
@@ -351,6 +360,15 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 default:
                     break;
             }
+
+            /** 不是期望的字符: 跳过空白后重试, 否则按普通 token 读取 */
+            if (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t' || ch == '\f' || ch == '\b') {
+                next();
+                continue;
+            }
+
+            nextToken();
+            return;
         }
 
     }
@@ -381,6 +399,17 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         char ch;
         for(;;) {
 
+            // 批量跳过不需要处理的字符, 之后 bp 指向这段字符的最后一个
+            int run = plainLength(bp + 1, '\"');
+            if (run > 0) {
+                if (hasSpecial) {
+                    appendPlain(bp + 1, run);
+                } else {
+                    sp += run;
+                }
+                bp += run;
+            }
+
             // 读取当前字符串的字符
             ch = next();
 
@@ -548,21 +577,53 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     /**
      * 扫描 整数
+     * 扫描的同时累计有效数字和十进制指数, doubleValue 不需要再读取一遍数字文本
      */
     public final void scanNumber(){
         /** 记录当前流中token的开始位置, np指向数字字符索引 */
         np = bp;
 
+        long mantissa = 0;
+        int digits = 0, exponent = 0;
+        boolean truncated = false, hasDigits = false;
+
         /** 兼容处理负数 */
+        numberNegative = ch == '-';
         if (ch == '-') {
             sp++;
             next();
         }
 
         for (;;){
+            /** 一次读取 8 位数字 */
+            if (digits <= 11) {
+                int eight = eightDigits(bp);
+                if (eight >= 0) {
+                    sp += 8;
+                    digits = mantissa != 0 ? digits + 8 : decimalLength(eight);
+                    mantissa = mantissa * 100000000 + eight;
+                    hasDigits = true;
+                    bp += 7;
+                    next();
+                    continue;
+                }
+            }
+
             if (ch >= '0' && ch <= '9'){
                 /** 如果是数字字符，递增索引位置 */
                 sp++;
+                hasDigits = true;
+
+                /** 最多保留 19 位有效数字, 之后的整数位只增加指数 */
+                if (digits < 19) {
+                    mantissa = mantissa * 10 + (ch - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else {
+                    exponent++;
+                    truncated |= ch != '0';
+                }
             }else {
                 break;
             }
@@ -579,8 +640,33 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
             isDouble = true;
 
             for (;;) {
+                if (digits <= 11) {
+                    int eight = eightDigits(bp);
+                    if (eight >= 0) {
+                        sp += 8;
+                        digits = mantissa != 0 ? digits + 8 : decimalLength(eight);
+                        mantissa = mantissa * 100000000 + eight;
+                        exponent -= 8;
+                        hasDigits = true;
+                        bp += 7;
+                        next();
+                        continue;
+                    }
+                }
+
                 if (ch >= '0' && ch <= '9') {
                     sp++;
+                    hasDigits = true;
+
+                    if (digits < 19) {
+                        mantissa = mantissa * 10 + (ch - '0');
+                        if (mantissa != 0) {
+                            digits++;
+                        }
+                        exponent--;
+                    } else {
+                        truncated |= ch != '0';
+                    }
                 } else {
                     break;
                 }
@@ -588,52 +674,75 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
             }
         }
 
+        boolean suffix = false;
+
         /** 继续读取数字后面的类型 */
         if (ch == 'L') {
             sp++;
             next();
+            suffix = true;
         } else if (ch == 'S') {
             sp++;
             next();
+            suffix = true;
         } else if (ch == 'B') {
             sp++;
             next();
+            suffix = true;
         } else if (ch == 'F') {
             sp++;
             next();
             isDouble = true;
+            suffix = true;
         } else if (ch == 'D') {
             sp++;
             next();
             isDouble = true;
+            suffix = true;
         } else if (ch == 'e' || ch == 'E') {
 
             /** 扫描科学计数法 */
             sp++;
             next();
 
+            boolean negativeExponent = false;
             if (ch == '+' || ch == '-') {
+                negativeExponent = ch == '-';
                 sp++;
                 next();
             }
 
+            int exp = 0;
+            /** 指数没有数字时 doubleValue 按数字文本转换并报错 */
+            hasDigits &= ch >= '0' && ch <= '9';
             for (;;) {
                 if (ch >= '0' && ch <= '9') {
                     sp++;
+                    /** 指数再大也只会得到 0 或者无穷大, 限制在 int 范围内 */
+                    if (exp < 100000) {
+                        exp = exp * 10 + (ch - '0');
+                    }
                 } else {
                     break;
                 }
                 next();
             }
+            exponent += negativeExponent ? -exp : exp;
 
             if (ch == 'D' || ch == 'F') {
                 sp++;
                 next();
+                suffix = true;
             }
 
             isDouble = true;
         }
 
+        numberMantissa = mantissa;
+        numberExponent = exponent;
+        /** 有效数字被截断、带类型后缀或者格式不完整时, 按数字文本转换 */
+        numberExact = !truncated && !suffix && hasDigits;
+
         if (isDouble){
             token = JSONToken.LITERAL_FLOAT;
         }else {
@@ -914,6 +1023,15 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
      * @return
      */
     public final Number integerValue(){
+        /** scanNumber 已经算出了值 */
+        if (numberExact && numberExponent == 0 && numberMantissa >= 0) {
+            long value = numberNegative ? -numberMantissa : numberMantissa;
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return intValueOf((int) value);
+            }
+            return value;
+        }
+
         long result = 0;    // 接收最后结果
         boolean negative = false;   // 是否为负数
         if (np == -1){
@@ -1018,6 +1136,106 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         }
     }
 
+    /**
+     * 按 long 读取整数 token, 不装箱
+     * @return
+     * @throws NumberFormatException 超出 long 范围
+     */
+    public final long longValue() throws NumberFormatException {
+        if (numberExact && numberExponent == 0 && numberMantissa >= 0) {
+            return numberNegative ? -numberMantissa : numberMantissa;
+        }
+
+        int i = np == -1 ? 0 : np, max = i + sp;
+
+        /** 去掉类型后缀 */
+        char type = charAt(max - 1);
+        if (type == 'L' || type == 'S' || type == 'B') {
+            max--;
+        }
+
+        boolean negative = false;
+        long limit;
+        if (charAt(i) == '-') {
+            negative = true;
+            limit = Long.MIN_VALUE;
+            i++;
+        } else {
+            limit = -Long.MAX_VALUE;
+        }
+
+        if (i >= max) {
+            throw new NumberFormatException(numberString());
+        }
+
+        /** 和 integerValue 一样按负数累加 */
+        long result = 0;
+        while (i < max) {
+            int digit = charAt(i++) - '0';
+            if (result < MULTMIN_RADIX_TEN) {
+                throw new NumberFormatException(numberString());
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException(numberString());
+            }
+            result -= digit;
+        }
+
+        return negative ? result : -result;
+    }
+
+    /**
+     * 按 int 读取整数 token, 不装箱
+     * @return
+     * @throws NumberFormatException 超出 int 范围
+     */
+    public final int intValue() throws NumberFormatException {
+        long value = longValue();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException(numberString());
+        }
+        return (int) value;
+    }
+
+    /**
+     * 缓存的整数, 覆盖常见的下标、计数和小的 id
+     */
+    private final static Integer[] INT_CACHE = new Integer[1024 + 128];
+
+    static {
+        for (int i = 0; i < INT_CACHE.length; i++) {
+            INT_CACHE[i] = i - 128;
+        }
+    }
+
+    protected static Integer intValueOf(int value) {
+        if (value >= -128 && value < 1024) {
+            return INT_CACHE[value + 128];
+        }
+        return value;
+    }
+
+    /**
+     * 从 index 开始的 8 个字符都是数字时返回它们的值, 否则返回 -1;
+     * scanNumber 用它一次读取 8 位数字, 子类可以直接在底层字节上批量转换
+     */
+    protected int eightDigits(int index) {
+        return -1;
+    }
+
+    /**
+     * 不超过 8 位的正整数的位数
+     */
+    private static int decimalLength(int value) {
+        int length = 0;
+        while (value != 0) {
+            value /= 10;
+            length++;
+        }
+        return length;
+    }
+
     /**
      * 小数解析
      * @param decimal
@@ -1047,6 +1265,21 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     public abstract BigDecimal decimalValue();
 
+    public final Number numberValue(NumberMode mode) {
+        if (mode == NumberMode.LAZY) {
+            /** 带类型后缀的数字仍然按后缀转换 */
+            char chLocal = charAt(np + sp - 1);
+            if (chLocal >= '0' && chLocal <= '9' || chLocal == '.') {
+                return new JSONNumber(numberString());
+            }
+        }
+
+        if (token == JSONToken.LITERAL_INT) {
+            return integerValue();
+        }
+        return decimalValue(mode == NumberMode.BIG_DECIMAL);
+    }
+
     /**
      * Append a character to sbuf：向 sbuf 数组中添加一个字符
      * @param ch
@@ -1060,6 +1293,30 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         sbuf[sp++] = ch;
     }
 
+    /**
+     * 把当前字符串 token 的内容放到 sbuf 的 [0, stringLength()) 中, 不创建 String
+     * @return sbuf, 下一次扫描之前有效
+     */
+    public final char[] stringChars() {
+        if (!hasSpecial) {
+            if (sp > sbuf.length) {
+                sbuf = new char[sp];
+            }
+            copyTo(np + 1, sp, sbuf);
+            /** 内容已经在 sbuf 中, 之后 stringVal 直接从 sbuf 读取 */
+            hasSpecial = true;
+        }
+        return sbuf;
+    }
+
+    /**
+     * 当前字符串 token 的长度
+     * @return
+     */
+    public final int stringLength() {
+        return sp;
+    }
+
     public final void resetStringPosition() {
         this.sp = 0;
     }
@@ -1073,6 +1330,17 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         char chLocal;
 
         for (;;){
+            int run = plainLength(bp + 1, quote);
+            if (run > 0) {
+                hash = plainHash(bp + 1, run, hash);
+                if (hasSpecial) {
+                    appendPlain(bp + 1, run);
+                } else {
+                    sp += run;
+                }
+                bp += run;
+            }
+
             // 将 chLocal 置为下一个字符
             chLocal = next();
 
@@ -1260,9 +1528,16 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     /**
      * 将 Double 类型的字符串转成 Double
+     * 由 scanNumber 累计的有效数字和指数直接计算 (Eisel-Lemire), 只有少数无法确定舍入的情况才解析数字文本
      * @return
      */
     public double doubleValue() {
+        if (numberExact) {
+            double value = EiselLemire.toDouble(numberMantissa, numberExponent, numberNegative);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
         return Double.parseDouble(numberString());
     }
 
@@ -1283,6 +1558,138 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         }
     }
 
+    /**
+     * 跳过一个完整的值(对象、数组、字符串、数字、true、false、null)
+     * 只根据括号深度和引号、转义字符判断边界, 不读取 token, 不拷贝字符串, 不转换数字, key 也不进入 SymbolTable;
+     * 调用时 ch 是值的第一个字符(前面可以有空白), 结束后 ch 停在值后面的第一个字符, 需要调用 nextToken 继续。
+     * 被跳过的内容不做语法校验。
+     */
+    public final void skipValue() {
+        /** 被跳过的内容不需要保留, 避免流式扫描器为了 token 保留窗口 */
+        sp = 0;
+
+        skipWhitespace();
+        switch (ch) {
+            case '{':
+            case '[':
+                next();
+                skipNested(1);
+                return;
+            case '"':
+                skipString();
+                return;
+            default:
+                break;
+        }
+
+        /** 数字、true、false、null: 读到分隔符为止; 流式扫描器换窗口时 bp 会变, 所以按读过的字符个数判断 */
+        int count = 0;
+        for (;;) {
+            if (ch == ',' || ch == '}' || ch == ']' || ch == ':' || isWhitespace(ch)) {
+                break;
+            }
+            if (ch == '{' || ch == '[' || ch == '"' || ch == EOI && isEOF()) {
+                break;
+            }
+            next();
+            count++;
+        }
+
+        if (count == 0) {
+            throw new JSONException("syntax error, expect value, pos " + bp);
+        }
+    }
+
+    /**
+     * 跳过嵌套结构的剩余部分
+     * 调用时已经读过 depth 个没有关闭的 '{' 或 '[', 结束后 ch 停在最后一个 '}' 或 ']' 后面的字符
+     * @param depth 没有关闭的括号个数
+     */
+    public void skipNested(int depth) {
+        sp = 0;
+
+        for (;;) {
+            switch (ch) {
+                case '"':
+                    skipString();
+                    continue;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (--depth == 0) {
+                        next();
+                        return;
+                    }
+                    break;
+                case EOI:
+                    if (isEOF()) {
+                        throw new JSONException("unclosed json text");
+                    }
+                    break;
+                default:
+                    break;
+            }
+            next();
+        }
+    }
+
+    /**
+     * 跳过一个字符串, 调用时 ch 是起始引号, 结束后 ch 是结束引号后面的字符
+     * 子类可以直接在底层文本上批量查找结束引号
+     */
+    protected void skipString() {
+        for (;;) {
+            char chLocal = next();
+            if (chLocal == '"') {
+                break;
+            }
+            if (chLocal == '\\') {
+                next();
+            } else if (chLocal == EOI && isEOF()) {
+                throw new JSONException("unclosed string");
+            }
+        }
+        next();
+    }
+
+    /**
+     * 字符串中从 start 开始连续的普通字符个数, 普通字符不是 quote、'\\', 也不是控制字符;
+     * scanString / scanSymbol 用它一次跳过一整段, 不必对每个字符调用 next()。
+     * 返回 0 时按原来的方式逐个字符处理, 子类可以直接在底层文本上批量查找
+     * @param start 起始位置
+     * @param quote 字符串的引号
+     * @return
+     */
+    protected int plainLength(int start, char quote) {
+        return 0;
+    }
+
+    /**
+     * 把 [start, start + len) 的普通字符计入 scanSymbol 的 hash
+     */
+    protected int plainHash(int start, int len, int hash) {
+        for (int i = start, end = start + len; i < end; ++i) {
+            hash = 31 * hash + charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * 把一段普通字符追加到 sbuf
+     */
+    private void appendPlain(int start, int len) {
+        if (sp + len > sbuf.length) {
+            char[] newsbuf = new char[Math.max(sbuf.length * 2, sp + len)];
+            System.arraycopy(sbuf, 0, newsbuf, 0, sp);
+            sbuf = newsbuf;
+        }
+        arrayCopy(start, sbuf, sp, len);
+        sp += len;
+    }
+
     protected abstract void arrayCopy(int srcPos, char[] dest, int destPos, int length);
     protected abstract void copyTo(int offset, int count, char[] dest);
 
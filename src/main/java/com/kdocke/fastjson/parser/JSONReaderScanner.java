@@ -0,0 +1,233 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+
+/**
+ * 流式扫描器
+ * 从 Reader 中分段读取到一个可复用的字符窗口, 输入不需要整体放进内存。
+ * 窗口读完时, 正在扫描的 token(从 np 开始) 会被移动到窗口开头再继续读取,
+ * 所以 np、sp 描述的 token 区间在重新填充之后依然有效。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:12
+ */
+public class JSONReaderScanner extends JSONLexerBase {
+
+    /**
+     * 复用的字符窗口
+     */
+    private final static ThreadLocal<char[]> BUF_LOCAL = new ThreadLocal<>();
+
+    private Reader                           reader;
+    /**
+     * 字符窗口
+     */
+    private char[]                           buf;
+    /**
+     * 窗口中有效字符的个数
+     */
+    private int                              bufLength;
+    /**
+     * reader 是否已经读完
+     */
+    private boolean                          eof;
+
+    public JSONReaderScanner(Reader reader){
+        this(reader, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONReaderScanner(InputStream in, Charset charset){
+        this(new InputStreamReader(in, charset), JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONReaderScanner(Reader reader, int features) {
+        super(features);
+        this.reader = reader;
+
+        buf = BUF_LOCAL.get();
+        if (buf != null) {
+            BUF_LOCAL.set(null);
+        } else {
+            buf = new char[1024 * 16];
+        }
+
+        bp = -1;
+        fill();
+
+        next();
+        /**
+         * 65279: UTF-8 的 BOM 标识和非法字符\65279
+         */
+        if (ch == 65279) {
+            next();
+        }
+    }
+
+    /**
+     * 读取下一个字符, 窗口读完时重新填充
+     * @return
+     */
+    public final char next() {
+        int index = ++bp;
+
+        if (index >= bufLength) {
+            if (eof) {
+                return ch = EOI;
+            }
+
+            fill();
+            index = bp;
+
+            if (index >= bufLength) {
+                return ch = EOI;
+            }
+        }
+
+        return ch = buf[index];
+    }
+
+    /**
+     * 重新填充窗口:
+     * sp > 0 说明 np 开始的 token 还在使用(扫描中, 或者刚扫描完还没有取值), 把它移动到窗口开头;
+     * 否则丢弃整个窗口。token 比窗口还长时窗口扩容一倍。
+     */
+    private void fill() {
+        int start = bufLength;
+        if (sp > 0 && np < bufLength) {
+            start = np < 0 ? 0 : np;
+        }
+
+        int rest = bufLength - start;
+        if (rest > 0 && start > 0) {
+            System.arraycopy(buf, start, buf, 0, rest);
+        }
+
+        np -= start;
+        bp -= start;
+        pos -= start;
+        bufLength = rest;
+
+        if (rest == buf.length) {
+            char[] newBuf = new char[buf.length * 2];
+            System.arraycopy(buf, 0, newBuf, 0, rest);
+            buf = newBuf;
+        }
+
+        try {
+            int len;
+            do {
+                len = reader.read(buf, rest, buf.length - rest);
+            } while (len == 0);
+
+            if (len == -1) {
+                eof = true;
+            } else {
+                bufLength += len;
+            }
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+    }
+
+    protected final void arrayCopy(int srcPos, char[] dest, int destPos, int length) {
+        System.arraycopy(buf, srcPos, dest, destPos, length);
+    }
+
+    protected final void copyTo(int offset, int count, char[] dest) {
+        System.arraycopy(buf, offset, dest, 0, count);
+    }
+
+    public final String stringVal() {
+        if (!hasSpecial) {
+            return this.subString(np + 1, sp);
+        } else {
+            return new String(sbuf, 0, sp);
+        }
+    }
+
+    public final BigDecimal decimalValue() {
+        int offset = np;
+        if (offset == -1) {
+            offset = 0;
+        }
+
+        char chLocal = charAt(offset + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        return new BigDecimal(buf, offset, sp);
+    }
+
+    public final String subString(int offset, int count) {
+        if (offset < 0) {
+            offset = 0;
+        }
+        return new String(buf, offset, count);
+    }
+
+    public final char charAt(int index) {
+        if (index >= bufLength) {
+            return EOI;
+        }
+
+        return buf[index];
+    }
+
+    public final String numberString() {
+        int offset = np;
+        if (offset == -1) {
+            offset = 0;
+        }
+
+        /** 取 token 最后一个字符 */
+        char chLocal = charAt(offset + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        /** 取数字类型字符串，不包括后缀类型 */
+        return new String(buf, offset, sp);
+    }
+
+    public final String addSymbol(int offset, int len, int hash, final SymbolTable symbolTable) {
+        return symbolTable.addSymbol(buf, offset, len, hash);
+    }
+
+    @Override
+    public boolean isEOF() {
+        /** reader 已经读完, 并且到达了窗口末尾、或者遇到 EOI 结束符 认为结束 */
+        return eof && (bp == bufLength || ch == EOI && bp + 1 == bufLength);
+    }
+
+    /**
+     * 归还字符窗口并关闭 reader
+     */
+    @Override
+    public void close() {
+        super.close();
+
+        if (buf.length <= 1024 * 64) {
+            BUF_LOCAL.set(buf);
+        }
+        this.buf = null;
+
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            // 关闭失败不影响解析结果
+        }
+    }
+
+}
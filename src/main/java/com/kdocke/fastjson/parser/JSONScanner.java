@@ -1,6 +1,7 @@
 package com.kdocke.fastjson.parser;
 
 import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONException;
 
 import java.math.BigDecimal;
 
@@ -17,7 +18,7 @@ public class JSONScanner extends JSONLexerBase {
      */
     private final String text;
     /**
-     * 定义 json 串长度
+     * 扫描的结束位置(不包含), 扫描整个字符串时就是 json 串长度
      */
     private final int    len;
 
@@ -26,11 +27,27 @@ public class JSONScanner extends JSONLexerBase {
     }
 
     public JSONScanner(String input, int features) {
+        this(input, 0, input.length(), features);
+    }
+
+    /**
+     * 只扫描 input 中 [offset, offset + count) 的部分, 不需要先 substring;
+     * bp、np 等位置仍然是 input 中的下标
+     * @param input json串
+     * @param offset 起始位置
+     * @param count 字符个数
+     * @param features
+     */
+    public JSONScanner(String input, int offset, int count, int features) {
         super(features);
 
+        if (offset < 0 || count < 0 || offset + count > input.length()) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", count " + count);
+        }
+
         text = input;
-        len = text.length();
-        bp = -1;
+        len = offset + count;
+        bp = offset - 1;
 
         next();
         /**
@@ -54,6 +71,107 @@ public class JSONScanner extends JSONLexerBase {
         return ch = (index >= this.len) ? EOI : text.charAt(index);
     }
 
+    /**
+     * 用 indexOf 批量查找结束引号
+     */
+    protected final void skipString() {
+        bp = stringEnd(bp);
+        next();
+    }
+
+    /**
+     * 直接在 text 上扫描, 不经过 next()
+     * @param depth 没有关闭的括号个数
+     */
+    public final void skipNested(int depth) {
+        sp = 0;
+
+        final String text = this.text;
+        for (int i = bp; i < len; ++i) {
+            char chLocal = text.charAt(i);
+            if (chLocal == '"') {
+                i = stringEnd(i);
+            } else if (chLocal == '{' || chLocal == '[') {
+                depth++;
+            } else if ((chLocal == '}' || chLocal == ']') && --depth == 0) {
+                bp = i;
+                next();
+                return;
+            }
+        }
+
+        bp = len;
+        ch = EOI;
+        throw new JSONException("unclosed json text");
+    }
+
+    /**
+     * 查找字符串的结束引号
+     * @param start 起始引号的位置
+     * @return 结束引号的位置
+     */
+    private int stringEnd(int start) {
+        final String text = this.text;
+        for (int index = start;;) {
+            int quote = text.indexOf('"', index + 1);
+            if (quote == -1 || quote >= len) {
+                bp = len;
+                ch = EOI;
+                throw new JSONException("unclosed string, pos " + start);
+            }
+
+            /** 引号前面连续的反斜杠是偶数个时, 引号没有被转义 */
+            int slash = quote - 1;
+            while (text.charAt(slash) == '\\') {
+                slash--;
+            }
+            if (((quote - 1 - slash) & 1) == 0) {
+                return quote;
+            }
+            index = quote;
+        }
+    }
+
+    /**
+     * 上一次 indexOf 找到的引号位置 (没有找到时为 len) 和对应的引号字符,
+     * 字符串中有转义时 plainLength 会被反复调用, 在越过这个位置之前直接复用, 不再从头查找
+     */
+    private int  quoteIndex = -1;
+    private char quoteChar;
+
+    /**
+     * 先用 indexOf 找到引号, 再检查中间有没有反斜杠和控制字符
+     */
+    protected final int plainLength(int start, char quote) {
+        final String text = this.text;
+        int limit = quoteIndex;
+        if (quote != quoteChar || start > limit) {
+            limit = text.indexOf(quote, start);
+            if (limit == -1 || limit >= len) {
+                limit = len;
+            }
+            quoteIndex = limit;
+            quoteChar = quote;
+        }
+
+        int i = start;
+        for (; i < limit; ++i) {
+            char c = text.charAt(i);
+            if (c == '\\' || c < ' ') {
+                break;
+            }
+        }
+        return i - start;
+    }
+
+    protected final int plainHash(int start, int len, int hash) {
+        final String text = this.text;
+        for (int i = start, end = start + len; i < end; ++i) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+
     protected final void arrayCopy(int srcPos, char[] dest, int destPos, int length) {
         text.getChars(srcPos, srcPos + length, dest, destPos);
     }
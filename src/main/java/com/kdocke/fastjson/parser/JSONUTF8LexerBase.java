@@ -0,0 +1,128 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSONException;
+
+/**
+ * UTF-8 字节输入的词法分析基类
+ * 多字节序列的校验和解码只在这里实现, 子类只负责按下标读取字节 (byte[]、ByteBuffer),
+ * 和子类一样, bp、np 是字节下标, sp 是字符个数。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 6:40
+ */
+public abstract class JSONUTF8LexerBase extends JSONLexerBase {
+
+    /**
+     * 有效字节的结束位置(不包含)
+     */
+    protected int end;
+
+    public JSONUTF8LexerBase(int features){
+        super(features);
+    }
+
+    /**
+     * 读取下标 index 处的字节, 调用方保证 index 小于 end
+     * @param index 字节下标
+     * @return
+     */
+    protected abstract byte byteAt(int index);
+
+    /**
+     * 当前字符占用的字节数, 非法的首字节在 decode 时已经抛出异常
+     */
+    protected final int width(int index) {
+        if (index >= end) {
+            return 1;
+        }
+
+        int b = byteAt(index);
+        if (b >= 0) {
+            return 1;
+        } else if ((b & 0xE0) == 0xC0) {
+            return 2;
+        } else if ((b & 0xF0) == 0xE0) {
+            return 3;
+        }
+        return 4;
+    }
+
+    /**
+     * 解码 index 处的多字节序列, 四字节序列返回高位代理
+     */
+    protected final char decode(int index, int b0) {
+        if ((b0 & 0xE0) == 0xC0) {
+            int c = ((b0 & 0x1F) << 6) | continuation(index + 1);
+            if (c < 0x80) {
+                throw malformed(index);
+            }
+            return (char) c;
+        }
+
+        if ((b0 & 0xF0) == 0xE0) {
+            int c = ((b0 & 0x0F) << 12) | (continuation(index + 1) << 6) | continuation(index + 2);
+            if (c < 0x800 || Character.isSurrogate((char) c)) {
+                throw malformed(index);
+            }
+            return (char) c;
+        }
+
+        return Character.highSurrogate(codePoint(index, b0));
+    }
+
+    /**
+     * 解码 index 处的四字节序列
+     */
+    protected final int codePoint(int index, int b0) {
+        if ((b0 & 0xF8) != 0xF0) {
+            throw malformed(index);
+        }
+
+        int cp = ((b0 & 0x07) << 18) | (continuation(index + 1) << 12) | (continuation(index + 2) << 6) | continuation(index + 3);
+        if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT || cp > Character.MAX_CODE_POINT) {
+            throw malformed(index);
+        }
+        return cp;
+    }
+
+    private int continuation(int index) {
+        if (index >= end) {
+            throw malformed(index);
+        }
+
+        int b = byteAt(index);
+        if ((b & 0xC0) != 0x80) {
+            throw malformed(index);
+        }
+        return b & 0x3F;
+    }
+
+    /**
+     * index 处不是合法的 UTF-8 序列, 子类可以把 index 换算成输入中的位置
+     */
+    protected JSONException malformed(int index) {
+        return new JSONException("malformed utf-8 input, pos " + index);
+    }
+
+    /**
+     * 从字节下标 srcPos 开始解码 count 个字符到 dest[destPos, ...]
+     */
+    protected final void decode(int srcPos, int count, char[] dest, int destPos) {
+        int i = srcPos;
+        int max = destPos + count;
+        for (int j = destPos; j < max;) {
+            byte b = byteAt(i);
+            if (b >= 0) {
+                dest[j++] = (char) b;
+                i++;
+                continue;
+            }
+
+            char c = decode(i, b);
+            dest[j++] = c;
+            if (Character.isHighSurrogate(c) && j < max) {
+                dest[j++] = Character.lowSurrogate(codePoint(i, b));
+            }
+            i += width(i);
+        }
+    }
+}
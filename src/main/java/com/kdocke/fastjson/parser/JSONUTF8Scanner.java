@@ -0,0 +1,341 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.util.UnsafeUtils;
+
+import java.math.BigDecimal;
+
+/**
+ * UTF-8 字节扫描器
+ * 直接扫描 byte[] (可以是一个大缓冲区中的一段), 不需要先 new String(bytes, UTF_8),
+ * 多字节序列只在读到它的时候才解码, 纯 ASCII 的 key 直接按字节进入 SymbolTable。
+ *
+ * 注意: bp、np 是字节下标, sp 仍然是字符个数,
+ * 所以 subString / copyTo 等方法的 offset 是字节下标, count 是字符个数。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:10
+ */
+public class JSONUTF8Scanner extends JSONUTF8LexerBase {
+
+    /**
+     * 用于接收 json 字节
+     */
+    private final byte[] buf;
+    /**
+     * 有效字节的起始位置
+     */
+    private final int    offset;
+
+    /**
+     * 四字节序列解码出代理对时, 低位代理暂存在这里, 下一次 next() 直接返回, bp 不动
+     */
+    private char         lowSurrogate;
+
+    public JSONUTF8Scanner(byte[] input){
+        this(input, 0, input.length, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONUTF8Scanner(byte[] input, int off, int len){
+        this(input, off, len, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONUTF8Scanner(byte[] input, int off, int len, int features) {
+        super(features);
+
+        if (off < 0 || len < 0 || off + len > input.length || off + len < 0) {
+            throw new IndexOutOfBoundsException("offset " + off + ", length " + len);
+        }
+
+        buf = input;
+        offset = off;
+        end = off + len;
+        bp = off - 1;
+
+        next();
+        /**
+         * 65279: UTF-8 的 BOM (EF BB BF) 解码后就是 \65279
+         */
+        if (ch == 65279){
+            next();
+        }
+    }
+
+    /**
+     * 读取下一个字符
+     * bp 指向当前字符的首字节, 所以先根据首字节算出当前字符的宽度
+     * @return
+     */
+    public final char next() {
+        if (lowSurrogate != 0) {
+            ch = lowSurrogate;
+            lowSurrogate = 0;
+            return ch;
+        }
+
+        int index = bp < offset ? offset : bp + width(bp);
+        bp = index;
+
+        if (index >= end) {
+            return ch = EOI;
+        }
+
+        byte b = buf[index];
+        if (b >= 0) {
+            return ch = (char) b;
+        }
+
+        char c = decode(index, b);
+        if (Character.isHighSurrogate(c)) {
+            lowSurrogate = Character.lowSurrogate(codePoint(index, b));
+        }
+        return ch = c;
+    }
+
+    /**
+     * 把扫描位置移动到字节下标 index, 用于按结构索引直接扫描某个 token
+     * @param index
+     */
+    final void reset(int index) {
+        lowSurrogate = 0;
+        sp = 0;
+        bp = index;
+        ch = charAt(index);
+    }
+
+    protected final byte byteAt(int index) {
+        return buf[index];
+    }
+
+    private final static long ONES      = 0x0101010101010101L;
+    private final static long HIGHS     = 0x8080808080808080L;
+    private final static long BACKSLASH = '\\' * ONES;
+    private final static long SPACE     = ' ' * ONES;
+
+    /**
+     * 每次读取 8 个字节 (SWAR), 同时检查引号、反斜杠、控制字符和多字节序列的字节;
+     * 只有 ASCII 字符计入普通字符, 字节数就是字符数, 多字节字符仍然由 next() 解码
+     */
+    protected final int plainLength(int start, char quote) {
+        final byte[] buf = this.buf;
+        final long quotes = quote * ONES;
+
+        int i = start;
+        for (int limit = end - 8; i <= limit; i += 8) {
+            long word = UnsafeUtils.getLongLE(buf, i);
+            long q = word ^ quotes;
+            long b = word ^ BACKSLASH;
+
+            /**
+             * (x - 0x01..) & ~x & 0x80.. 在 x 的某个字节为 0 的位置置最高位,
+             * (x - 0x20..) & ~x 在小于 0x20 的字节置最高位, word 本身的最高位对应非 ASCII 字节;
+             * 借位只会影响第一个命中字节之后的字节, 所以最低的命中位是准确的
+             */
+            long mask = ((q - ONES) & ~q | (b - ONES) & ~b | (word - SPACE) & ~word | word) & HIGHS;
+            if (mask != 0) {
+                return i - start + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+        }
+
+        for (; i < end; ++i) {
+            byte c = buf[i];
+            if (c == quote || c == '\\' || c < ' ') {
+                break;
+            }
+        }
+        return i - start;
+    }
+
+    /**
+     * SWAR: 8 个 ASCII 数字作为一个 long 读取, 三次乘法合并成一个整数
+     */
+    protected final int eightDigits(int index) {
+        if (index < offset || index + 8 > end) {
+            return -1;
+        }
+
+        long word = UnsafeUtils.getLongLE(buf, index);
+        /** 每个字节的高 4 位是 3, 并且加 6 之后不进位 (不超过 '9') */
+        if (((word & 0xF0F0F0F0F0F0F0F0L) | (((word + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) != 0x3333333333333333L) {
+            return -1;
+        }
+
+        word = (word & 0x0F0F0F0F0F0F0F0FL) * 2561 >>> 8;
+        word = (word & 0x00FF00FF00FF00FFL) * 6553601 >>> 16;
+        return (int) ((word & 0x0000FFFF0000FFFFL) * 42949672960001L >>> 32);
+    }
+
+    protected final int plainHash(int start, int len, int hash) {
+        final byte[] buf = this.buf;
+        for (int i = start, max = start + len; i < max; ++i) {
+            hash = 31 * hash + buf[i];
+        }
+        return hash;
+    }
+
+    protected final void arrayCopy(int srcPos, char[] dest, int destPos, int length) {
+        decode(srcPos, length, dest, destPos);
+    }
+
+    /**
+     * 按字节查找结束引号: 多字节序列的每个字节都不小于 0x80, 不会和 '"'、'\' 混淆
+     */
+    protected final void skipString() {
+        bp = stringEnd(bp);
+        next();
+    }
+
+    /**
+     * 直接在字节上扫描, 不解码被跳过的内容
+     * @param depth 没有关闭的括号个数
+     */
+    public final void skipNested(int depth) {
+        sp = 0;
+
+        final byte[] buf = this.buf;
+        if (lowSurrogate != 0) {
+            /** 当前是四字节字符的高位代理, 从下一个字符开始扫描 */
+            next();
+        }
+        for (int i = bp; i < end; ++i) {
+            byte b = buf[i];
+            if (b == '"') {
+                i = stringEnd(i);
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if ((b == '}' || b == ']') && --depth == 0) {
+                bp = i;
+                next();
+                return;
+            }
+        }
+
+        bp = end;
+        ch = EOI;
+        throw new JSONException("unclosed json text");
+    }
+
+    /**
+     * 查找字符串的结束引号
+     * @param start 起始引号的位置
+     * @return 结束引号的位置
+     */
+    private int stringEnd(int start) {
+        final byte[] buf = this.buf;
+        for (int i = start + 1; i < end; ++i) {
+            byte b = buf[i];
+            if (b == '"') {
+                return i;
+            }
+            if (b == '\\') {
+                i++;
+            }
+        }
+        bp = end;
+        ch = EOI;
+        throw new JSONException("unclosed string, pos " + (start - offset));
+    }
+
+    protected final void copyTo(int offset, int count, char[] dest) {
+        decode(offset, count, dest, 0);
+    }
+
+    public final String stringVal() {
+        if (!hasSpecial) {
+            return this.subString(np + 1, sp);
+        } else {
+            return new String(sbuf, 0, sp);
+        }
+    }
+
+    public final BigDecimal decimalValue() {
+        char chLocal = charAt(np + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        /** 数字都是 ASCII, 字节数与字符数相同 */
+        char[] chars = sp < sbuf.length ? sbuf : new char[sp];
+        for (int i = 0; i < sp; i++) {
+            chars[i] = (char) buf[np + i];
+        }
+        return new BigDecimal(chars, 0, sp);
+    }
+
+    /**
+     * 解码 offset 开始的 count 个字符, 借用 sbuf 作为解码缓冲区
+     * @param offset 字节下标
+     * @param count 字符个数
+     * @return
+     */
+    public final String subString(int offset, int count) {
+        if (count > sbuf.length) {
+            sbuf = new char[count];
+        }
+        decode(offset, count, sbuf, 0);
+        return new String(sbuf, 0, count);
+    }
+
+    public final char charAt(int index) {
+        if (index >= end) {
+            return EOI;
+        }
+
+        byte b = buf[index];
+        if (b >= 0) {
+            return (char) b;
+        }
+        return decode(index, b);
+    }
+
+    public final String numberString() {
+        /** 取 token 最后一个字符 */
+        char chLocal = charAt(np + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        /** 取数字类型字符串，不包括后缀类型 */
+        return this.subString(np, sp);
+    }
+
+    /**
+     * 纯 ASCII 的 key 直接按字节查找 SymbolTable, 否则先解码到 sbuf
+     */
+    public final String addSymbol(int offset, int len, int hash, final SymbolTable symbolTable) {
+        for (int i = offset, max = offset + len; i < max; i++) {
+            if (buf[i] < 0) {
+                if (len > sbuf.length) {
+                    sbuf = new char[len];
+                }
+                decode(offset, len, sbuf, 0);
+                return symbolTable.addSymbol(sbuf, 0, len, hash);
+            }
+        }
+
+        return symbolTable.addSymbol(buf, offset, len, hash);
+    }
+
+    @Override
+    public boolean isBlankInput() {
+        for (int i = offset; i < end; ++i) {
+            if (!isWhitespace((char) buf[i])) {
+                return false;
+            }
+        }
+
+        token = JSONToken.EOF;
+        return true;
+    }
+
+    @Override
+    public boolean isEOF() {
+        /** 如果到达了有效字节的结尾、或者遇到 EOI 结束符 认为结束 */
+        return bp == end || ch == EOI && bp + 1 == end;
+    }
+
+}
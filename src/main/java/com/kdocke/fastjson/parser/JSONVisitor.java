@@ -0,0 +1,47 @@
+package com.kdocke.fastjson.parser;
+
+import java.math.BigInteger;
+
+/**
+ * 事件方式遍历 json 的回调接口
+ * 由 DefaultJSONParser.accept 驱动, 数字以基本类型回调, 不会装箱;
+ * key 和字符串以 char[] 区间回调, 区间只在回调期间有效, 需要保留时自行拷贝。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:18
+ */
+public interface JSONVisitor {
+
+    void onObjectStart();
+
+    void onObjectEnd();
+
+    void onArrayStart();
+
+    void onArrayEnd();
+
+    /**
+     * 对象的 key
+     * @param buf 字符缓冲区
+     * @param off key 的起始位置
+     * @param len key 的长度
+     * @param symbol 从 SymbolTable 中取出的 key, 相同的 key 是同一个 String 实例
+     */
+    void onKey(char[] buf, int off, int len, String symbol);
+
+    void onString(char[] buf, int off, int len);
+
+    void onLong(long value);
+
+    /**
+     * 超出 long 范围的整数
+     * @param value
+     */
+    void onBigInteger(BigInteger value);
+
+    void onDouble(double value);
+
+    void onBoolean(boolean value);
+
+    void onNull();
+
+}
@@ -0,0 +1,181 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.LazyJSONArray;
+import com.kdocke.fastjson.LazyJSONObject;
+
+import static com.kdocke.fastjson.parser.JSONLexer.EOI;
+import static com.kdocke.fastjson.parser.JSONToken.*;
+
+/**
+ * 懒加载解析器
+ * 只为当前这一层建立索引: 数字、true、false、null 直接读取,
+ * 对象、数组和字符串由词法分析器跳过, 只记录起止位置(LazyValue), 第一次访问时再扫描。
+ * 被跳过的内容不做语法校验, 其中的错误在访问时才会抛出。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:26
+ */
+public class LazyJSONParser {
+
+    /**
+     * 解析 json 串, 对象和数组只建立第一层的索引
+     * @param text json串
+     * @param features
+     * @return LazyJSONObject、LazyJSONArray 或者基本类型的值
+     */
+    public static Object parse(String text, int features) {
+        JSONScanner lexer = new JSONScanner(text, features);
+        try {
+            lexer.skipWhitespace();
+
+            Object value;
+            char ch = lexer.getCurrent();
+            if (ch == '{') {
+                value = indexObject(lexer, text, features);
+            } else if (ch == '[') {
+                value = indexArray(lexer, text, features);
+            } else if (ch == '"') {
+                lexer.scanString();
+                value = lexer.stringVal();
+            } else if (ch == EOI && lexer.isEOF()) {
+                return null;
+            } else {
+                value = scalar(lexer);
+            }
+
+            lexer.skipWhitespace();
+            if (lexer.getCurrent() != EOI || !lexer.isEOF()) {
+                throw new JSONException("not close json text, pos " + lexer.bp);
+            }
+            return value;
+        } finally {
+            lexer.close();
+        }
+    }
+
+    /**
+     * 扫描 [start, end) 中的对象、数组或字符串
+     */
+    static Object resolve(String text, int start, int end, int features) {
+        JSONScanner lexer = new JSONScanner(text, start, end - start, features);
+        try {
+            char ch = lexer.getCurrent();
+            if (ch == '{') {
+                return indexObject(lexer, text, features);
+            } else if (ch == '[') {
+                return indexArray(lexer, text, features);
+            }
+
+            lexer.scanString();
+            return lexer.stringVal();
+        } finally {
+            lexer.close();
+        }
+    }
+
+    /**
+     * 调用时 ch 是 '{', 结束后 ch 是 '}' 后面的字符
+     */
+    private static LazyJSONObject indexObject(JSONScanner lexer, String text, int features) {
+        final SymbolTable symbolTable = ParserConfig.getGlobalInstance().symbolTable;
+
+        LazyJSONObject object = new LazyJSONObject();
+        lexer.next();
+        for (;;) {
+            lexer.skipWhitespace();
+            char ch = lexer.getCurrent();
+            if (ch == '}') {
+                lexer.next();
+                return object;
+            }
+            if (ch != '"') {
+                throw new JSONException("syntax error, expect key, pos " + lexer.bp);
+            }
+
+            String key = lexer.scanSymbol(symbolTable, '"');
+            lexer.skipWhitespace();
+            if (lexer.getCurrent() != ':') {
+                throw new JSONException("expect ':' at " + lexer.bp + ", name " + key);
+            }
+            lexer.next();
+
+            object.put(key, indexValue(lexer, text, features));
+
+            lexer.skipWhitespace();
+            ch = lexer.getCurrent();
+            if (ch == ',') {
+                lexer.next();
+            } else if (ch == '}') {
+                lexer.next();
+                return object;
+            } else {
+                throw new JSONException("syntax error, pos " + lexer.bp + ", name " + key);
+            }
+        }
+    }
+
+    /**
+     * 调用时 ch 是 '[', 结束后 ch 是 ']' 后面的字符
+     */
+    private static LazyJSONArray indexArray(JSONScanner lexer, String text, int features) {
+        LazyJSONArray array = new LazyJSONArray();
+        lexer.next();
+
+        lexer.skipWhitespace();
+        if (lexer.getCurrent() == ']') {
+            lexer.next();
+            return array;
+        }
+
+        for (;;) {
+            array.add(indexValue(lexer, text, features));
+
+            lexer.skipWhitespace();
+            char ch = lexer.getCurrent();
+            if (ch == ',') {
+                lexer.next();
+            } else if (ch == ']') {
+                lexer.next();
+                return array;
+            } else {
+                throw new JSONException("unclosed jsonArray, pos " + lexer.bp);
+            }
+        }
+    }
+
+    /**
+     * 对象、数组和字符串只记录区间, 其它值直接读取
+     */
+    private static Object indexValue(JSONScanner lexer, String text, int features) {
+        lexer.skipWhitespace();
+
+        int start = lexer.bp;
+        char ch = lexer.getCurrent();
+        if (ch == '{' || ch == '[' || ch == '"') {
+            lexer.skipValue();
+            return new LazyValue(text, start, lexer.bp, features);
+        }
+        return scalar(lexer);
+    }
+
+    /**
+     * 读取数字、true、false、null, 结束后 ch 是值后面的字符
+     */
+    private static Object scalar(JSONScanner lexer) {
+        lexer.nextToken();
+        switch (lexer.token()) {
+            case LITERAL_INT:
+            case LITERAL_FLOAT:
+                return lexer.numberValue(ParserConfig.getGlobalInstance().getNumberMode());
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case NULL:
+                return null;
+            default:
+                throw new JSONException("syntax error, " + JSONToken.name(lexer.token()) + ", pos " + lexer.pos());
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.kdocke.fastjson.parser;
+
+/**
+ * 懒加载的值
+ * LazyJSONObject / LazyJSONArray 中还没有被访问过的对象、数组和字符串,
+ * 只记录它在原始 json 串中的区间, 第一次访问时才扫描。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:26
+ */
+public final class LazyValue {
+
+    private final String text;
+    private final int    start;
+    private final int    end;
+    private final int    features;
+
+    LazyValue(String text, int start, int end, int features){
+        this.text = text;
+        this.start = start;
+        this.end = end;
+        this.features = features;
+    }
+
+    /**
+     * 扫描这个值: 对象和数组只建立下一层的索引, 字符串直接读取
+     * @return LazyJSONObject、LazyJSONArray 或 String
+     */
+    public Object resolve() {
+        return LazyJSONParser.resolve(text, start, end, features);
+    }
+
+    @Override
+    public String toString() {
+        return text.substring(start, end);
+    }
+
+}
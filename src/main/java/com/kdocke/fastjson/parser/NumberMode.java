@@ -0,0 +1,22 @@
+package com.kdocke.fastjson.parser;
+
+/**
+ * 数字的解析方式
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:47
+ */
+public enum NumberMode {
+    /**
+     * 整数为 Integer / Long / BigInteger, 小数为 Double (默认)
+     */
+    DOUBLE,
+    /**
+     * 整数同 DOUBLE, 小数为 BigDecimal, 不经过 double, 保留全部精度
+     */
+    BIG_DECIMAL,
+    /**
+     * 整数和小数都是 JSONNumber, 只保存数字文本, 第一次读取时才转换;
+     * 序列化时原样输出, 适合只转发数据、不读取数字的场景
+     */
+    LAZY
+}
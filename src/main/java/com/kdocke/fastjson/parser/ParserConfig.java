@@ -11,6 +11,11 @@ public class ParserConfig {
 
     public final SymbolTable symbolTable = new SymbolTable(4096);
 
+    /**
+     * 数字的解析方式
+     */
+    private NumberMode numberMode = NumberMode.DOUBLE;
+
     /**
      * 返回一个 ParserConfig 实例
      * @return
@@ -19,4 +24,15 @@ public class ParserConfig {
         return global;
     }
 
+    public NumberMode getNumberMode() {
+        return numberMode;
+    }
+
+    public void setNumberMode(NumberMode numberMode) {
+        if (numberMode == null) {
+            throw new IllegalArgumentException("numberMode is null");
+        }
+        this.numberMode = numberMode;
+    }
+
 }
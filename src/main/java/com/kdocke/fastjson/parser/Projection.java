@@ -0,0 +1,132 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSONException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 字段投影
+ * 解析时只构造投影中的路径, 其余字段由词法分析器直接跳过。
+ *
+ * 路径用 '.' 分隔字段, 用 [*] 表示数组的所有元素, 例如:
+ * <pre>
+ * Projection.of("user.id", "items[*].sku", "meta.ts")
+ * </pre>
+ * 选中一个字段时会保留它的整个子树; 对象和数组只保留被选中的部分,
+ * 没有 [*] 的数组只保留一个空数组。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:21
+ */
+public class Projection {
+
+    /**
+     * 字段名 -> 子投影
+     */
+    private final Map<String, Projection> fields = new HashMap<String, Projection>();
+
+    /**
+     * 数组元素的子投影, 对应 [*]
+     */
+    private Projection                    elements;
+
+    /**
+     * 是否选中整个子树
+     */
+    private boolean                       all;
+
+    private Projection(){
+    }
+
+    /**
+     * 编译投影路径
+     * @param paths 路径
+     * @return
+     */
+    public static Projection of(String... paths) {
+        Projection root = new Projection();
+        for (String path : paths) {
+            root.add(path);
+        }
+        return root;
+    }
+
+    private void add(String path) {
+        if (path == null || path.length() == 0) {
+            throw new JSONException("illegal projection path : " + path);
+        }
+
+        Projection node = this;
+        int i = 0, len = path.length();
+        while (i < len) {
+            if (node.all) {
+                /** 上层已经选中整个子树 */
+                return;
+            }
+
+            char ch = path.charAt(i);
+            if (ch == '[') {
+                if (!path.startsWith("[*]", i)) {
+                    throw new JSONException("illegal projection path : " + path + ", pos " + i);
+                }
+                if (node.elements == null) {
+                    node.elements = new Projection();
+                }
+                node = node.elements;
+                i += 3;
+                continue;
+            }
+
+            if (ch == '.') {
+                if (i == 0 || ++i == len || path.charAt(i) == '.' || path.charAt(i) == '[') {
+                    throw new JSONException("illegal projection path : " + path + ", pos " + i);
+                }
+                continue;
+            }
+
+            int end = i;
+            while (end < len && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                end++;
+            }
+            String name = path.substring(i, end);
+
+            Projection child = node.fields.get(name);
+            if (child == null) {
+                child = new Projection();
+                node.fields.put(name, child);
+            }
+            node = child;
+            i = end;
+        }
+
+        node.all = true;
+        node.fields.clear();
+        node.elements = null;
+    }
+
+    /**
+     * 字段的子投影
+     * @param key 字段名
+     * @return 不在投影中时返回 null
+     */
+    public Projection field(Object key) {
+        return fields.get(key instanceof String ? (String) key : String.valueOf(key));
+    }
+
+    /**
+     * 数组元素的子投影
+     * @return 没有 [*] 时返回 null
+     */
+    public Projection elements() {
+        return elements;
+    }
+
+    /**
+     * 是否选中整个子树
+     * @return
+     */
+    public boolean isAll() {
+        return all;
+    }
+
+}
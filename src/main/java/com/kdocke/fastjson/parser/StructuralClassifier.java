@@ -0,0 +1,23 @@
+package com.kdocke.fastjson.parser;
+
+/**
+ * 结构索引第一阶段的字符分类
+ * 把 64 字节的块分成引号、反斜杠、结构符号 ({ } [ ] : ,)、空白四类, 每类一个位图, 第 i 位对应块中的第 i 个字节
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 5:56
+ */
+interface StructuralClassifier {
+
+    int QUOTE      = 0;
+    int BACKSLASH  = 1;
+    int OPERATOR   = 2;
+    int WHITESPACE = 3;
+
+    /**
+     * 分类 block[off, off + 64), 结果按 QUOTE、BACKSLASH、OPERATOR、WHITESPACE 写入 masks
+     * @param block
+     * @param off
+     * @param masks 长度至少为 4
+     */
+    void classify(byte[] block, int off, long[] masks);
+}
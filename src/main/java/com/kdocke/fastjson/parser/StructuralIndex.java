@@ -0,0 +1,338 @@
+package com.kdocke.fastjson.parser;
+
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.util.UnsafeUtils;
+
+import java.util.Arrays;
+
+/**
+ * 结构索引 (两阶段解析的第一阶段)
+ * 一次扫描 UTF-8 字节, 记录所有结构位置:
+ * <pre>
+ * 字符串之外的 { } [ ] : ,
+ * 字符串的起始引号
+ * 数字、true、false、null 等标量的第一个字节
+ * </pre>
+ * 第二阶段 (IndexedJSONParser) 按这些位置构造对象, 不再逐个字符地识别 token、跳过空白。
+ *
+ * 有两种实现, 运行时选择, 合法 JSON 的结果相同:
+ * java 17 以上并且加了 --add-modules jdk.incubator.vector 时用 Vector API (VectorStructuralClassifier, 在 multi-release jar 的 META-INF/versions/17 中)
+ * 按 64 字节一块分类, 得到每类字符的位图, 用前缀异或 (prefix-XOR) 计算字符串内部的区域;
+ * 否则逐字节扫描。按 8 字节分类的 SWAR 实现不比逐字节扫描快, 只用来校验 Vector API 实现的分类结果。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:38
+ */
+public class StructuralIndex {
+
+    /**
+     * 是否使用 Vector API 实现
+     */
+    public final static boolean VECTOR;
+
+    /**
+     * 块分类的实现, 为 null 时逐字节扫描
+     */
+    final static StructuralClassifier CLASSIFIER;
+
+    static {
+        CLASSIFIER = loadVectorClassifier();
+        VECTOR = CLASSIFIER != null;
+    }
+
+    /**
+     * 最后不足 64 字节的块复制到这里, 每个线程一个
+     */
+    private final static ThreadLocal<byte[]> TAIL_LOCAL = new ThreadLocal<byte[]>() {
+        protected byte[] initialValue() {
+            return new byte[64];
+        }
+    };
+
+    private final static long   ONES      = 0x0101010101010101L;
+    private final static long   HIGHS     = 0x8080808080808080L;
+    private final static long   LOWS      = 0x7F7F7F7F7F7F7F7FL;
+    private final static long   EVEN_BITS = 0x5555555555555555L;
+    private final static long   ODD_BITS  = ~EVEN_BITS;
+
+    /**
+     * 结构位置, 升序
+     */
+    private int[]               positions;
+    private int                 count;
+
+    private StructuralIndex(int capacity){
+        positions = new int[capacity];
+    }
+
+    /**
+     * 建立 [off, off + len) 的结构索引, 开头的 BOM 会被跳过
+     * @param input UTF-8 字节
+     * @param off
+     * @param len
+     * @return
+     */
+    public static StructuralIndex build(byte[] input, int off, int len) {
+        return build(input, off, len, CLASSIFIER);
+    }
+
+    /**
+     * @param classifier 为 null 时逐字节扫描
+     */
+    static StructuralIndex build(byte[] input, int off, int len, StructuralClassifier classifier) {
+        if (off < 0 || len < 0 || off + len > input.length || off + len < 0) {
+            throw new IndexOutOfBoundsException("offset " + off + ", length " + len);
+        }
+
+        int end = off + len;
+        if (len >= 3 && (input[off] & 0xFF) == 0xEF && (input[off + 1] & 0xFF) == 0xBB && (input[off + 2] & 0xFF) == 0xBF) {
+            off += 3;
+        }
+
+        StructuralIndex index = new StructuralIndex(Math.max(16, len >> 3));
+        if (classifier != null) {
+            index.scanBlocks(classifier, input, off, end);
+        } else {
+            index.scanBytes(input, off, end);
+        }
+        return index;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * 第 i 个结构位置
+     */
+    public int position(int i) {
+        return positions[i];
+    }
+
+    private void add(int position) {
+        if (count == positions.length) {
+            int[] newPositions = new int[positions.length * 2];
+            System.arraycopy(positions, 0, newPositions, 0, count);
+            positions = newPositions;
+        }
+        positions[count++] = position;
+    }
+
+    /**
+     * 逐字节扫描
+     */
+    private void scanBytes(byte[] input, int off, int end) {
+        boolean inString = false, escaped = false, inScalar = false;
+        for (int i = off; i < end; ++i) {
+            byte b = input[i];
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (b) {
+                case '"':
+                    add(i);
+                    inString = true;
+                    inScalar = false;
+                    break;
+                case '{':
+                case '}':
+                case '[':
+                case ']':
+                case ':':
+                case ',':
+                    add(i);
+                    inScalar = false;
+                    break;
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                case '\f':
+                case '\b':
+                    inScalar = false;
+                    break;
+                default:
+                    if (!inScalar) {
+                        add(i);
+                        inScalar = true;
+                    }
+                    break;
+            }
+        }
+
+        if (inString) {
+            throw new JSONException("unclosed string");
+        }
+    }
+
+    /**
+     * 按 64 字节一块扫描, 每个 long 的第 i 位对应块中的第 i 个字节
+     */
+    private void scanBlocks(StructuralClassifier classifier, byte[] input, int off, int end) {
+        /** 上一块结束时: 是否在字符串中 (全 0 或全 1)、最后一个字节是否被转义、最后一个字节是否是标量 */
+        long prevInString = 0, prevEscaped = 0, prevScalar = 0;
+
+        long[] masks = new long[4];
+        for (int base = off; base < end; base += 64) {
+            byte[] block = input;
+            int blockOff = base;
+            if (end - base < 64) {
+                /** 最后不足 64 字节的部分复制出来, 用空格补齐 */
+                block = TAIL_LOCAL.get();
+                Arrays.fill(block, (byte) ' ');
+                System.arraycopy(input, base, block, 0, end - base);
+                blockOff = 0;
+            }
+
+            classifier.classify(block, blockOff, masks);
+            long quote = masks[StructuralClassifier.QUOTE];
+            long op = masks[StructuralClassifier.OPERATOR];
+
+            /** 转义的引号不是字符串的边界 */
+            long escaped = oddBackslashEnds(masks[StructuralClassifier.BACKSLASH], prevEscaped);
+            prevEscaped = oddBackslashCarry;
+            quote &= ~escaped;
+
+            /** 前缀异或: 起始引号到结束引号之前的位为 1 */
+            long inString = prefixXor(quote) ^ prevInString;
+            prevInString = inString >> 63;
+
+            long structural = op & ~inString;
+            long openQuotes = quote & inString;
+            long scalar = ~(op | masks[StructuralClassifier.WHITESPACE] | quote | inString);
+            long scalarStarts = scalar & ~(scalar << 1 | prevScalar);
+            prevScalar = scalar >>> 63;
+
+            long bits = structural | openQuotes | scalarStarts;
+            while (bits != 0) {
+                add(base + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+
+        if (prevInString != 0) {
+            throw new JSONException("unclosed string");
+        }
+    }
+
+    /**
+     * 加载 Vector API 实现, 并用一个包含所有类别的块和 SWAR 的分类结果比对;
+     * java 8、没有 jdk.incubator.vector 模块或者硬件不支持时返回 null
+     */
+    private static StructuralClassifier loadVectorClassifier() {
+        StructuralClassifier vector;
+        try {
+            Class<?> clazz = Class.forName("com.kdocke.fastjson.parser.VectorStructuralClassifier");
+            vector = (StructuralClassifier) clazz.getDeclaredConstructor().newInstance();
+
+            String chars = "{\"a\\\"\":[1, true]}\t\r\n\b\f\u000b\u00e4";
+            byte[] sample = new byte[64];
+            for (int i = 0; i < sample.length; ++i) {
+                sample[i] = (byte) chars.charAt(i % chars.length());
+            }
+            long[] expect = new long[4], actual = new long[4];
+            new SWARClassifier().classify(sample, 0, expect);
+            vector.classify(sample, 0, actual);
+            return Arrays.equals(expect, actual) ? vector : null;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 以 long 为单位并行比较 8 个字节, 作为 Vector API 实现的参照
+     */
+    private static final class SWARClassifier implements StructuralClassifier {
+
+        public void classify(byte[] block, int off, long[] masks) {
+            long quote = 0, backslash = 0, op = 0, whitespace = 0;
+            for (int w = 0; w < 8; ++w) {
+                long word = UnsafeUtils.getLongLE(block, off + (w << 3));
+                int shift = w << 3;
+
+                quote |= movemask(eq(word, '"')) << shift;
+                backslash |= movemask(eq(word, '\\')) << shift;
+
+                /** '[' | 0x20 == '{', ']' | 0x20 == '}' */
+                long lower = word | 0x2020202020202020L;
+                op |= movemask(eq(lower, '{') | eq(lower, '}') | eq(word, ':') | eq(word, ',')) << shift;
+
+                /** 空白是 ' ' 和 [0x08, 0x0D] 中除了 0x0B 以外的字节 */
+                whitespace |= movemask(eq(word, ' ') | lessThan(word, 0x0E) & ~lessThan(word, 0x08) & ~eq(word, 0x0B)) << shift;
+            }
+
+            masks[QUOTE] = quote;
+            masks[BACKSLASH] = backslash;
+            masks[OPERATOR] = op;
+            masks[WHITESPACE] = whitespace;
+        }
+    }
+
+    /**
+     * 每个等于 value 的字节最高位置 1, 其余为 0 (逐字节精确, 字节之间没有借位)
+     */
+    private static long eq(long word, int value) {
+        long x = word ^ (value * ONES);
+        return ~(((x & LOWS) + LOWS) | x | LOWS);
+    }
+
+    /**
+     * 每个小于 value (value <= 0x80) 的字节最高位置 1
+     */
+    private static long lessThan(long word, int value) {
+        return ~((word | HIGHS) - value * ONES) & ~word & HIGHS;
+    }
+
+    /**
+     * 把每个字节的最高位收集成 8 位
+     */
+    private static long movemask(long mask) {
+        return ((mask >>> 7) * 0x0102040810204080L) >>> 56;
+    }
+
+    private static long prefixXor(long bits) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+
+    /**
+     * oddBackslashEnds 计算出的、下一块第一个字节是否被转义
+     */
+    private long oddBackslashCarry;
+
+    /**
+     * 被奇数个连续反斜杠转义的字节位置
+     * @param backslash 反斜杠位图
+     * @param prevEscaped 上一块结束时是否还有一个没有用掉的反斜杠 (0 或 1)
+     */
+    private long oddBackslashEnds(long backslash, long prevEscaped) {
+        long startEdges = backslash & ~(backslash << 1);
+        long evenStartMask = EVEN_BITS ^ prevEscaped;
+        long evenStarts = startEdges & evenStartMask;
+        long oddStarts = startEdges & ~evenStartMask;
+        long evenCarries = backslash + evenStarts;
+
+        long oddCarries = backslash + oddStarts;
+        /** 无符号加法溢出说明奇数起点的序列一直延续到块的末尾 */
+        oddBackslashCarry = Long.compareUnsigned(oddCarries, backslash) < 0 ? 1 : 0;
+        oddCarries |= prevEscaped;
+
+        long evenCarryEnds = evenCarries & ~backslash;
+        long oddCarryEnds = oddCarries & ~backslash;
+        long evenStartOddEnd = evenCarryEnds & ODD_BITS;
+        long oddStartEvenEnd = oddCarryEnds & EVEN_BITS;
+        return evenStartOddEnd | oddStartEvenEnd;
+    }
+}
@@ -1,5 +1,7 @@
 package com.kdocke.fastjson.parser;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * 字符表
  * @author Kdocke[kdocked@gmail.com]
@@ -51,6 +53,44 @@ public class SymbolTable {
         return symbol;
     }
 
+    /**
+     * 添加 ASCII 字节形式的 symbol, 命中时直接按字节比较, 不需要先解码成 char[]
+     * @param buffer ASCII 字节
+     * @param offset 偏移
+     * @param len 长度
+     * @param hash 按字符计算的 hash, 与 String.hashCode() 一致
+     * @return
+     */
+    public String addSymbol(byte[] buffer, int offset, int len, int hash) {
+        final int bucket = hash & indexMask;
+
+        String symbol = symbols[bucket];
+        if (symbol != null) {
+            boolean eq = true;
+            if (hash == symbol.hashCode() //
+                    && len == symbol.length()) {
+                for (int i = 0; i < len; i++) {
+                    if (buffer[offset + i] != symbol.charAt(i)) {
+                        eq = false;
+                        break;
+                    }
+                }
+            } else {
+                eq = false;
+            }
+
+            if (eq) {
+                return symbol;
+            } else {
+                return new String(buffer, offset, len, StandardCharsets.ISO_8859_1);
+            }
+        }
+
+        symbol = new String(buffer, offset, len, StandardCharsets.ISO_8859_1).intern();
+        symbols[bucket] = symbol;
+        return symbol;
+    }
+
     public String addSymbol(String buffer, int offset, int len, int hash) {
         return addSymbol(buffer, offset, len, hash, false);
     }
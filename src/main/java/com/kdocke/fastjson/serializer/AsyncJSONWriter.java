@@ -0,0 +1,297 @@
+package com.kdocke.fastjson.serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步序列化输出
+ * 用 ResumableJSONSerializer 把 JSON 分段填进池化的堆外 ByteBuffer, 每填满一个就交给异步通道写出,
+ * 在途 (已填充还没写完) 的 buffer 数量达到上限时暂停序列化, 直到某次写入完成后在 CompletionHandler 中继续,
+ * 整个过程不阻塞任何线程, 写完后通过返回的 CompletableFuture 得到写出的字节数。
+ * 同一个 AsynchronousSocketChannel 同时只能有一个写操作, 其余的 buffer 按顺序排队;
+ * AsynchronousFileChannel 的每个 buffer 有自己的位置, 可以同时写。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 5:09
+ */
+public class AsyncJSONWriter {
+
+    public final static int  BUFFER_SIZE         = UTF8SerializeWriter.SEGMENT_SIZE;
+
+    /**
+     * 每次输出默认最多占用的 buffer 数
+     */
+    public final static int  DEFAULT_MAX_BUFFERS = 4;
+
+    private final static int MAX_POOLED          = 64;
+
+    private final static ConcurrentLinkedQueue<ByteBuffer> bufferPool  = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final static AtomicInteger                     pooledCount = new AtomicInteger();
+
+    private AsyncJSONWriter(){
+    }
+
+    public static CompletableFuture<Long> write(Object object, AsynchronousSocketChannel channel) {
+        return write(object, channel, SerializeConfig.getGlobalInstance(), DEFAULT_MAX_BUFFERS);
+    }
+
+    /**
+     * 将 object 按 UTF-8 写到 channel, 不关闭 channel
+     * @param object
+     * @param channel
+     * @param config
+     * @param maxBuffers 最多同时占用的 buffer 数
+     * @return 完成时的值为写出的字节数
+     */
+    public static CompletableFuture<Long> write(Object object, AsynchronousSocketChannel channel,
+                                                SerializeConfig config, int maxBuffers) {
+        SocketTask task = new SocketTask(new ResumableJSONSerializer(object, config), maxBuffers, channel);
+        task.pump();
+        return task.future;
+    }
+
+    public static CompletableFuture<Long> write(Object object, AsynchronousFileChannel channel, long position) {
+        return write(object, channel, position, SerializeConfig.getGlobalInstance(), DEFAULT_MAX_BUFFERS);
+    }
+
+    /**
+     * 将 object 按 UTF-8 从 position 开始写到 channel, 不关闭 channel
+     * @param object
+     * @param channel
+     * @param position
+     * @param config
+     * @param maxBuffers 最多同时在途的 buffer 数
+     * @return 完成时的值为写出的字节数
+     */
+    public static CompletableFuture<Long> write(Object object, AsynchronousFileChannel channel, long position,
+                                                SerializeConfig config, int maxBuffers) {
+        FileTask task = new FileTask(new ResumableJSONSerializer(object, config), maxBuffers, channel, position);
+        task.pump();
+        return task.future;
+    }
+
+    private static ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        pooledCount.decrementAndGet();
+        return buffer;
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer) {
+        if (pooledCount.incrementAndGet() <= MAX_POOLED) {
+            buffer.clear();
+            bufferPool.offer(buffer);
+        } else {
+            pooledCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 正在写出的一个 buffer
+     */
+    private static final class Chunk {
+        final ByteBuffer buffer;
+        final long       position;
+
+        Chunk(ByteBuffer buffer, long position){
+            this.buffer = buffer;
+            this.position = position;
+        }
+    }
+
+    /**
+     * 一次输出的状态, 所有方法都在 this 上同步;
+     * 写操作立即完成时 CompletionHandler 可能在发起写的线程中直接回调, 所以这里的方法都允许重入
+     */
+    private abstract static class Task implements CompletionHandler<Integer, Chunk> {
+
+        final CompletableFuture<Long>  future = new CompletableFuture<Long>();
+        final ResumableJSONSerializer  serializer;
+        final int                      maxBuffers;
+
+        /**
+         * 已取出还没有归还的 buffer 数
+         */
+        int                            buffers;
+        boolean                        serialized;
+        boolean                        closed;
+        long                           written;
+
+        Task(ResumableJSONSerializer serializer, int maxBuffers){
+            if (maxBuffers < 1) {
+                throw new IllegalArgumentException("maxBuffers " + maxBuffers);
+            }
+            this.serializer = serializer;
+            this.maxBuffers = maxBuffers;
+        }
+
+        /**
+         * 在 buffer 数量允许时继续序列化
+         */
+        synchronized void pump() {
+            while (!closed && !serialized && buffers < maxBuffers) {
+                ByteBuffer buffer = acquireBuffer();
+                buffers++;
+                try {
+                    serialized = serializer.fill(buffer);
+                } catch (RuntimeException e) {
+                    release(buffer);
+                    fail(e);
+                    return;
+                }
+
+                buffer.flip();
+                if (!buffer.hasRemaining()) {
+                    release(buffer);
+                    continue;
+                }
+                submit(buffer);
+            }
+
+            if (serialized && buffers == 0 && !closed) {
+                closed = true;
+                serializer.close();
+                future.complete(written);
+            }
+        }
+
+        public synchronized void completed(Integer result, Chunk chunk) {
+            if (closed) {
+                release(chunk.buffer);
+                return;
+            }
+
+            written += result;
+            if (chunk.buffer.hasRemaining()) {
+                /** 只写出了一部分 */
+                issue(chunk);
+                return;
+            }
+
+            release(chunk.buffer);
+            chunkWritten();
+            pump();
+        }
+
+        public synchronized void failed(Throwable exc, Chunk chunk) {
+            release(chunk.buffer);
+            fail(exc);
+        }
+
+        void issue(Chunk chunk) {
+            try {
+                write(chunk);
+            } catch (RuntimeException e) {
+                failed(e, chunk);
+            }
+        }
+
+        private void release(ByteBuffer buffer) {
+            buffers--;
+            releaseBuffer(buffer);
+        }
+
+        private void fail(Throwable exc) {
+            if (!closed) {
+                closed = true;
+                serializer.close();
+                future.completeExceptionally(exc);
+            }
+        }
+
+        /**
+         * 交给通道一个已填充的 buffer
+         */
+        abstract void submit(ByteBuffer buffer);
+
+        /**
+         * 发起 chunk 剩余部分的写操作
+         */
+        abstract void write(Chunk chunk);
+
+        /**
+         * 一个 buffer 已经全部写出
+         */
+        abstract void chunkWritten();
+    }
+
+    private static final class SocketTask extends Task {
+
+        private final AsynchronousSocketChannel channel;
+        private final ArrayDeque<Chunk>         pending = new ArrayDeque<Chunk>();
+        private boolean                         writing;
+
+        SocketTask(ResumableJSONSerializer serializer, int maxBuffers, AsynchronousSocketChannel channel){
+            super(serializer, maxBuffers);
+            this.channel = channel;
+        }
+
+        void submit(ByteBuffer buffer) {
+            Chunk chunk = new Chunk(buffer, 0);
+            if (writing) {
+                pending.add(chunk);
+            } else {
+                writing = true;
+                issue(chunk);
+            }
+        }
+
+        void write(Chunk chunk) {
+            channel.write(chunk.buffer, chunk, this);
+        }
+
+        void chunkWritten() {
+            Chunk next = pending.poll();
+            if (next == null) {
+                writing = false;
+            } else {
+                issue(next);
+            }
+        }
+
+        public synchronized void failed(Throwable exc, Chunk chunk) {
+            super.failed(exc, chunk);
+
+            /** 排队中的 buffer 不会再写出 */
+            for (Chunk next; (next = pending.poll()) != null;) {
+                super.failed(exc, next);
+            }
+        }
+    }
+
+    private static final class FileTask extends Task {
+
+        private final AsynchronousFileChannel channel;
+
+        /**
+         * 下一个 buffer 在文件中的位置
+         */
+        private long                          position;
+
+        FileTask(ResumableJSONSerializer serializer, int maxBuffers, AsynchronousFileChannel channel, long position){
+            super(serializer, maxBuffers);
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void submit(ByteBuffer buffer) {
+            Chunk chunk = new Chunk(buffer, position);
+            position += buffer.remaining();
+            issue(chunk);
+        }
+
+        void write(Chunk chunk) {
+            channel.write(chunk.buffer, chunk.position + chunk.buffer.position(), chunk, this);
+        }
+
+        void chunkWritten() {
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.kdocke.fastjson.serializer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+
+/**
+ * BigDecimal 序列化
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:47
+ */
+public class BigDecimalCodec implements ObjectSerializer {
+
+    public final static BigDecimalCodec instance = new BigDecimalCodec();
+
+    @Override
+    public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features) throws IOException {
+        SerializeWriter out = serializer.out;
+
+        if (object == null) {
+            out.writeNull();
+            return;
+        }
+
+        out.write(((BigDecimal) object).toString());
+    }
+}
@@ -1,5 +1,7 @@
 package com.kdocke.fastjson.serializer;
 
+import com.kdocke.fastjson.util.Schubfach;
+
 import java.io.IOException;
 import java.lang.reflect.Type;
 
@@ -12,6 +14,26 @@ public class DoubleSerializer implements ObjectSerializer {
 
     public final static DoubleSerializer instance      = new DoubleSerializer();
 
+    /**
+     * 固定的小数位数, 小于 0 时输出最短表示
+     */
+    private final int                    scale;
+
+    public DoubleSerializer(){
+        this(-1);
+    }
+
+    /**
+     * 按固定的小数位数输出, 例如 SerializeConfig.put(Double.class, new DoubleSerializer(2))
+     * @param scale 小数位数
+     */
+    public DoubleSerializer(int scale){
+        if (scale > Schubfach.MAX_SCALE) {
+            throw new IllegalArgumentException("scale " + scale);
+        }
+        this.scale = scale;
+    }
+
     @Override
     public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features) throws IOException {
         SerializeWriter out = serializer.out;
@@ -25,10 +47,10 @@ public class DoubleSerializer implements ObjectSerializer {
         if (Double.isNaN(doubleValue) //
                 || Double.isInfinite(doubleValue)) {
             out.writeNull();
-        } else {
-
+        } else if (scale < 0) {
             out.writeDouble(doubleValue);
-
+        } else {
+            out.writeDouble(doubleValue, scale);
         }
     }
 }
@@ -4,7 +4,7 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 
 /**
- * IntegerCodec 序列化
+ * IntegerCodec 序列化, 处理 Integer、Short、Byte、AtomicInteger
  * @author Kdocke[kdocked@gmail.com]
  * @create 2018/9/21 - 9:00
  */
@@ -16,6 +16,11 @@ public class IntegerCodec implements ObjectSerializer {
         SerializeWriter out = serializer.out;
 
         Number value = (Number) object;
+        if (value == null) {
+            out.writeNull();
+            return;
+        }
+
         out.writeInt(value.intValue());
 
     }
@@ -0,0 +1,26 @@
+package com.kdocke.fastjson.serializer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSONNumber 序列化, 原样输出数字文本, 不经过任何转换
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:47
+ */
+public class JSONNumberSerializer implements ObjectSerializer {
+
+    public final static JSONNumberSerializer instance = new JSONNumberSerializer();
+
+    @Override
+    public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features) throws IOException {
+        SerializeWriter out = serializer.out;
+
+        if (object == null) {
+            out.writeNull();
+            return;
+        }
+
+        out.write(object.toString());
+    }
+}
@@ -0,0 +1,101 @@
+package com.kdocke.fastjson.serializer;
+
+import com.kdocke.fastjson.JSONTape;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSONTape 序列化
+ * 按顺序遍历纸带直接输出, 不需要先构造 JSONObject / JSONArray
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:30
+ */
+public class JSONTapeSerializer implements ObjectSerializer {
+
+    public final static JSONTapeSerializer instance = new JSONTapeSerializer();
+
+    @Override
+    public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features) throws IOException {
+        SerializeWriter out = serializer.out;
+
+        if (object == null) {
+            out.writeNull();
+            return;
+        }
+
+        write(out, (JSONTape) object);
+    }
+
+    public void write(SerializeWriter out, JSONTape tape) {
+        JSONTape.Cursor cursor = tape.cursor();
+        if (cursor.isObject() || cursor.isArray()) {
+            writeContainer(out, cursor);
+        } else {
+            writeValue(out, cursor);
+        }
+    }
+
+    /**
+     * 输出容器, 游标在容器上, 输出时游标会移动到容器的最后一个值
+     */
+    private void writeContainer(SerializeWriter out, JSONTape.Cursor cursor) {
+        boolean object = cursor.isObject();
+        out.write(object ? '{' : '[');
+
+        if (cursor.first()) {
+            boolean first = true;
+            do {
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+
+                if (object) {
+                    cursor.writeKey(out);
+                    out.write(':');
+                }
+
+                if (cursor.isObject() || cursor.isArray()) {
+                    writeContainer(out, cursor.copy());
+                } else {
+                    writeValue(out, cursor);
+                }
+            } while (cursor.next());
+        }
+
+        out.write(object ? '}' : ']');
+    }
+
+    private void writeValue(SerializeWriter out, JSONTape.Cursor cursor) {
+        switch (cursor.type()) {
+            case JSONTape.STRING:
+                cursor.writeString(out);
+                break;
+            case JSONTape.LONG:
+                out.writeLong(cursor.longValue());
+                break;
+            case JSONTape.DOUBLE: {
+                double value = cursor.doubleValue();
+                if (Double.isNaN(value) || Double.isInfinite(value)) {
+                    out.writeNull();
+                } else {
+                    out.writeDouble(value);
+                }
+                break;
+            }
+            case JSONTape.BIG_INTEGER:
+                out.write(cursor.stringValue());
+                break;
+            case JSONTape.TRUE:
+                out.write(true);
+                break;
+            case JSONTape.FALSE:
+                out.write(false);
+                break;
+            default:
+                out.writeNull();
+                break;
+        }
+    }
+}
@@ -48,6 +48,8 @@ public class ListSerializer implements ObjectSerializer {
 
                     if (clazz == Integer.class) {
                         out.writeInt(((Integer) item).intValue());
+                    } else if (clazz == Long.class) {
+                        out.writeLong(((Long) item).longValue());
                     } else {
                         itemSerializer = serializer.getObjectWriter(item.getClass());
                         itemSerializer.write(serializer, item, i, elementType, features);
@@ -0,0 +1,27 @@
+package com.kdocke.fastjson.serializer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * LongCodec 序列化, 处理 Long、AtomicLong
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:53
+ */
+public class LongCodec implements ObjectSerializer {
+
+    public static LongCodec instance = new LongCodec();
+
+    public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features) throws IOException {
+        SerializeWriter out = serializer.out;
+
+        Number value = (Number) object;
+        if (value == null) {
+            out.writeNull();
+            return;
+        }
+
+        out.writeLong(value.longValue());
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.kdocke.fastjson.serializer;
+
+import com.kdocke.fastjson.JSONException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可以分段输出的序列化器
+ * 每次调用 fill 把 UTF-8 字节写满调用方提供的 ByteBuffer (可以是堆外内存) 后返回, 下一次从停下的位置继续,
+ * 适合 NIO 服务按 socket 缓冲区的大小分段输出, 不需要先生成完整的 JSON。
+ * Map 和 List 用显式的栈遍历, 每次只生成大约一个 buffer 的内容;
+ * 其余的值交给对应的 ObjectSerializer 整体输出, 超出 buffer 的部分留到下一次。
+ * 输出和 JSON.toJSONBytes 相同。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 5:04
+ */
+public class ResumableJSONSerializer implements Closeable {
+
+    private final UTF8SerializeWriter out;
+    private final JSONSerializer      serializer;
+
+    /**
+     * 还没有开始输出的根对象
+     */
+    private Object                    root;
+    private boolean                   started;
+
+    /**
+     * 正在输出的 Map / List, 栈顶为 frames[depth - 1]
+     */
+    private Frame[]                   frames = new Frame[8];
+    private int                       depth;
+
+    public ResumableJSONSerializer(Object root){
+        this(root, SerializeConfig.getGlobalInstance());
+    }
+
+    public ResumableJSONSerializer(Object root, SerializeConfig config){
+        this.root = root;
+        this.out = new UTF8SerializeWriter();
+        this.serializer = new JSONSerializer(out, config);
+    }
+
+    /**
+     * 输出到 dst 中, 直到 dst 写满或者全部输出完成
+     * @param dst
+     * @return 全部输出完成时返回 true
+     */
+    public boolean fill(ByteBuffer dst) {
+        for (;;) {
+            out.drainTo(dst);
+            if (out.size() > 0) {
+                /** dst 已满 */
+                return false;
+            }
+            if (isDone()) {
+                return true;
+            }
+            if (!dst.hasRemaining()) {
+                return false;
+            }
+
+            /** 生成大约能放满 dst 的内容 */
+            int target = dst.remaining();
+            try {
+                while (out.size() < target && !isDone()) {
+                    advance();
+                }
+            } catch (IOException e) {
+                throw new JSONException(e.getMessage(), e);
+            }
+        }
+    }
+
+    public boolean isDone() {
+        return started && depth == 0;
+    }
+
+    /**
+     * 输出一个 token: 根值、一个字段、一个元素或者容器的结束符号
+     */
+    private void advance() throws IOException {
+        if (!started) {
+            started = true;
+            Object value = root;
+            root = null;
+            writeValue(value);
+            return;
+        }
+
+        Frame frame = frames[depth - 1];
+        if (frame.entries != null) {
+            if (!frame.entries.hasNext()) {
+                out.write('}');
+                pop();
+                return;
+            }
+
+            Map.Entry<?, ?> entry = frame.entries.next();
+            if (!frame.first) {
+                out.write(',');
+            }
+            frame.first = false;
+
+            Object key = entry.getKey();
+            out.writeFieldName(key instanceof String ? (String) key : String.valueOf(key), true);
+            writeValue(entry.getValue());
+        } else {
+            if (frame.index == frame.list.size()) {
+                out.write(']');
+                pop();
+                return;
+            }
+
+            if (frame.index != 0) {
+                out.write(',');
+            }
+            writeValue(frame.list.get(frame.index++));
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeNull();
+        } else if (value instanceof Map) {
+            out.write('{');
+            push().entries = ((Map<?, ?>) value).entrySet().iterator();
+        } else if (value instanceof List) {
+            out.write('[');
+            push().list = (List<?>) value;
+        } else {
+            ObjectSerializer writer = serializer.getObjectWriter(value.getClass());
+            writer.write(serializer, value, null, null, 0);
+        }
+    }
+
+    private Frame push() {
+        if (depth == frames.length) {
+            Frame[] newFrames = new Frame[depth * 2];
+            System.arraycopy(frames, 0, newFrames, 0, depth);
+            frames = newFrames;
+        }
+
+        Frame frame = frames[depth];
+        if (frame == null) {
+            frames[depth] = frame = new Frame();
+        }
+        frame.first = true;
+        depth++;
+        return frame;
+    }
+
+    private void pop() {
+        Frame frame = frames[--depth];
+        frame.entries = null;
+        frame.list = null;
+        frame.index = 0;
+    }
+
+    public void close() {
+        out.close();
+    }
+
+    private static final class Frame {
+        Iterator<? extends Map.Entry<?, ?>> entries;
+        List<?>                             list;
+        int                                 index;
+        boolean                             first;
+    }
+}
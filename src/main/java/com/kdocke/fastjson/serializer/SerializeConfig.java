@@ -1,10 +1,16 @@
 package com.kdocke.fastjson.serializer;
 
+import com.kdocke.fastjson.JSONNumber;
+import com.kdocke.fastjson.JSONTape;
+import com.kdocke.fastjson.OffHeapJSONTape;
 import com.kdocke.fastjson.util.IdentityHashMap;
 
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 根据类型查找具体序列化实例，
@@ -40,9 +46,18 @@ public class SerializeConfig {
     private void initSerializers() {
         put(Boolean.class, BooleanCodec.instance);
         put(Integer.class, IntegerCodec.instance);
+        put(Short.class, IntegerCodec.instance);
+        put(Byte.class, IntegerCodec.instance);
+        put(AtomicInteger.class, IntegerCodec.instance);
+        put(Long.class, LongCodec.instance);
+        put(AtomicLong.class, LongCodec.instance);
         put(Float.class, FloatCodec.instance);
         put(Double.class, DoubleSerializer.instance);
+        put(BigDecimal.class, BigDecimalCodec.instance);
+        put(JSONNumber.class, JSONNumberSerializer.instance);
         put(String.class, StringCodec.instance);
+        put(JSONTape.class, JSONTapeSerializer.instance);
+        put(OffHeapJSONTape.class, JSONTapeSerializer.instance);
     }
 
     public static SerializeConfig getGlobalInstance() {
@@ -2,31 +2,63 @@ package com.kdocke.fastjson.serializer;
 
 import com.kdocke.fastjson.JSON;
 import com.kdocke.fastjson.JSONException;
-import sun.misc.IOUtils;
-import sun.security.util.Length;
+import com.kdocke.fastjson.util.IOUtils;
+import com.kdocke.fastjson.util.Schubfach;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 
 /**
  * 序列化输出器：用于缓存序列化结果字符
+ * 字符保存在固定大小的段 (segment) 中, 当前段写满后换一个新的段, 已有的内容不会被复制;
+ * 有 writer 时写满的段直接输出到 writer 并重复使用, 否则保留下来, 最后由 toString / toBytes 合并。
+ * 段从线程本地的池中获取, close 时归还。
  * @author Kdocke[kdocked@gmail.com]
  * @create 2018/9/20 - 9:09
  */
 public class SerializeWriter extends Writer {
 
-    /** 字符类型 buffer */
-    private final static ThreadLocal<char[]> bufLocal      = new ThreadLocal<>();
+    /** 段的大小 */
+    public final static int                  SEGMENT_SIZE  = 8192;
 
-    /** 存储序列化结果 buffer */
+    /** 每个线程最多缓存的空闲段数 */
+    private final static int                 MAX_POOLED    = 64;
+
+    /** 空闲段池 */
+    private final static ThreadLocal<ArrayDeque<char[]>> segmentPool = new ThreadLocal<ArrayDeque<char[]>>() {
+        protected ArrayDeque<char[]> initialValue() {
+            return new ArrayDeque<char[]>();
+        }
+    };
+
+    /** 当前段 */
     protected char                           buf[];
 
-    /** buffer 中包含的字符数 */
+    /** 当前段中包含的字符数 */
     protected int                            count;
 
+    /** 之前写满的段和每个段中的字符数, 只在没有 writer 时使用 */
+    private char[][]                         segments;
+    private int[]                            segmentLengths;
+    private int                              segmentCount;
+
+    /** 之前的段中的字符总数 */
+    private int                              segmentChars;
+
     /** 序列化的特性: 比如写枚举是按照名字还是枚举值 */
     protected int features;
 
+    /** 由 features 得到的字符串转义方式, 见 IOUtils.escapeMode */
+    protected int                            escapeMode;
+
+    /** 一个字符的转义形式 */
+    private final char[]                     escapeChars   = new char[6];
+
     /** 序列化输出器 */
     private final Writer                     writer;
 
@@ -41,15 +73,27 @@ public class SerializeWriter extends Writer {
     public SerializeWriter(Writer writer, int defaultFeatures, SerializerFeature... features) {
         this.writer = writer;
 
-        // 初始化字符 buffer
-        buf = bufLocal.get();
-        if (buf != null){
-            bufLocal.set(null);
-        }else {
-            buf = new char[2048];
-        }
+        // 初始化第一个段
+        buf = allocateSegment();
 
+        for (SerializerFeature feature : features) {
+            defaultFeatures |= feature.mask;
+        }
         this.features = defaultFeatures;
+        this.escapeMode = IOUtils.escapeMode(defaultFeatures);
+    }
+
+    public void config(SerializerFeature feature, boolean state) {
+        if (state) {
+            features |= feature.mask;
+        } else {
+            features &= ~feature.mask;
+        }
+        escapeMode = IOUtils.escapeMode(features);
+    }
+
+    public boolean isEnabled(SerializerFeature feature) {
+        return (features & feature.mask) != 0;
     }
 
     public SerializeWriter append(CharSequence csq){
@@ -64,10 +108,80 @@ public class SerializeWriter extends Writer {
      * @param c
      */
     public void write(int c){
+        if (count == buf.length) {
+            nextSegment();
+        }
         buf[count] = (char) c;
         count = count + 1;
     }
 
+    /**
+     * 保证当前段至少还有 len 个字符的连续空间, len 不超过 SEGMENT_SIZE
+     * @param len
+     */
+    protected final void ensureCapacity(int len) {
+        if (count + len > buf.length) {
+            nextSegment();
+        }
+    }
+
+    /**
+     * 换到下一个段: 有 writer 时把当前段输出到 writer 并继续使用, 否则保留当前段并从池中取一个新的段
+     */
+    private void nextSegment() {
+        if (writer != null) {
+            spill();
+            return;
+        }
+
+        if (segments == null) {
+            segments = new char[8][];
+            segmentLengths = new int[8];
+        } else if (segmentCount == segments.length) {
+            /** 只复制段的引用, 不复制字符 */
+            segments = Arrays.copyOf(segments, segmentCount * 2);
+            segmentLengths = Arrays.copyOf(segmentLengths, segmentCount * 2);
+        }
+
+        segments[segmentCount] = buf;
+        segmentLengths[segmentCount++] = count;
+        segmentChars += count;
+
+        buf = allocateSegment();
+        count = 0;
+    }
+
+    /**
+     * 把当前段的内容输出到 writer
+     */
+    private void spill() {
+        try {
+            writer.write(buf, 0, count);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+        count = 0;
+    }
+
+    private static char[] allocateSegment() {
+        char[] segment = segmentPool.get().poll();
+        return segment != null ? segment : new char[SEGMENT_SIZE];
+    }
+
+    private static void recycleSegment(char[] segment) {
+        ArrayDeque<char[]> pool = segmentPool.get();
+        if (pool.size() < MAX_POOLED) {
+            pool.push(segment);
+        }
+    }
+
+    /**
+     * 还没有输出到 writer 的字符数
+     */
+    public int size() {
+        return segmentChars + count;
+    }
+
     /**
      * 序列化字符数组
      * @param c
@@ -85,20 +199,17 @@ public class SerializeWriter extends Writer {
             return;
         }
 
-        int newcount = count + len;
-        if (newcount > buf.length) {
-            do {
-                int rest = buf.length - count;
-                System.arraycopy(c, off, buf, count, rest);
-                count = buf.length;
-                flush();
-                len -= rest;
-                off += rest;
-            } while (len > buf.length);
-            newcount = len;
+        /** 当前段放不下时先填满当前段, 剩下的写到后面的段中 */
+        while (count + len > buf.length) {
+            int rest = buf.length - count;
+            System.arraycopy(c, off, buf, count, rest);
+            count = buf.length;
+            nextSegment();
+            len -= rest;
+            off += rest;
         }
         System.arraycopy(c, off, buf, count, len);
-        count = newcount;
+        count += len;
     }
 
     /**
@@ -129,84 +240,114 @@ public class SerializeWriter extends Writer {
      * @param len
      */
     public void write(String str, int off, int len){
-        /** 计算总共字符串长度 */
-        int newcount = count + len;
+        /** 当前段放不下时分段拷贝 */
+        while (count + len > buf.length) {
+            int rest = buf.length - count;
+            str.getChars(off, off + rest, buf, count);
+            count = buf.length;
+            nextSegment();
+            len -= rest;
+            off += rest;
+        }
 
         /** 存储空间充足，直接将str[off, off + len) 拷贝到buf[count, ...]中*/
         str.getChars(off, off + len, buf, count);
-        count = newcount;
+        count += len;
     }
 
     /**
      * 序列化整型数字
-     * 基本思路: 先获取数字长度，再写入到输出流
+     * 基本思路: 先获取数字长度，再按两位一组直接写到 buffer 中
      * @param i
      */
     public void writeInt(int i){
+        if (i == Integer.MIN_VALUE) {
+            /** -i 会溢出 */
+            write("-2147483648");
+            return;
+        }
+
         /** 根据数字判断占用的位数，负数会多一位用于存储字符`-` */
-        int size = (i < 0) ? stringSize(-i) + 1 : stringSize(i);
+        int size = (i < 0) ? IOUtils.stringSize(-i) + 1 : IOUtils.stringSize(i);
 
+        /** 数字不会跨段, 当前段放不下时换一个段 */
+        ensureCapacity(size);
         int newcount = count + size;
-        /** 如果当前存储空间不够, 本抽离代码采用固定容量, 空间不够报错 */
-        if (newcount > buf.length) {
-            char[] chars = new char[size];
-            /** 将整数i转换成单字符并存储到chars数组 */
-            getChars(i, size, chars);
-            write(chars, 0, chars.length);
+
+        /** 直接将字符写到buffer中 */
+        IOUtils.getChars(i, newcount, buf);
+
+        /** 重新计数buffer中字符数 */
+        count = newcount;
+    }
+
+    /**
+     * 序列化长整型数字
+     * @param i
+     */
+    public void writeLong(long i) {
+        if (i == Long.MIN_VALUE) {
+            write("-9223372036854775808");
             return;
         }
 
-        /** 如果buffer空间够，直接将字符写到buffer中 */
-        getChars(i, newcount, buf);
+        int size = (i < 0) ? IOUtils.stringSize(-i) + 1 : IOUtils.stringSize(i);
 
-        /** 重新计数buffer中字符数 */
+        ensureCapacity(size);
+        int newcount = count + size;
+
+        IOUtils.getChars(i, newcount, buf);
         count = newcount;
     }
 
     /**
      * 序列化浮点类型数字
-     * 基本思路: 先转换为字符串，然后在输出到输出流中。
+     * 基本思路: 用 Schubfach 算法直接把最短表示写到 buffer 中, 不创建字符串;
+     * 结果和 Double.toString 相同, 但整数结尾的 ".0" 被去除
      * @param doubleValue
-     * @param checkWriteClassName
      */
     public void writeDouble(double doubleValue) {
         /** 如果doubleValue不合法或者是无穷数，调用writeNull */
         if (Double.isNaN(doubleValue)
                 || Double.isInfinite(doubleValue)) {
             writeNull();
-        } else {
-            /** 将高精度double转换为字符串 */
-            String doubleText = Double.toString(doubleValue);
-            /** 启动WriteNullNumberAsZero特性，会将结尾.0去除 */
-            if (doubleText.endsWith(".0")) {
-                doubleText = doubleText.substring(0, doubleText.length() - 2);
-            }
+            return;
+        }
 
-            /** 调用字符串输出方法 */
-            write(doubleText);
+        ensureCapacity(Schubfach.MAX_DOUBLE_LENGTH);
+        count = Schubfach.writeDouble(doubleValue, buf, count);
+    }
+
+    /**
+     * 按固定的小数位数序列化浮点类型数字, 对最短表示四舍五入, 例如 (1.005, 2) 输出 1.01、(1.5, 2) 输出 1.50
+     * @param doubleValue
+     * @param scale 小数位数, 0 到 Schubfach.MAX_SCALE
+     */
+    public void writeDouble(double doubleValue, int scale) {
+        if (Double.isNaN(doubleValue)
+                || Double.isInfinite(doubleValue)) {
+            writeNull();
+            return;
         }
+
+        ensureCapacity(Schubfach.MAX_DOUBLE_LENGTH + Schubfach.MAX_SCALE);
+        count = Schubfach.writeDouble(doubleValue, scale, buf, count);
     }
 
     /**
      * 序列化浮点类型数字
      * @param value
-     * @param checkWriteClassName
      */
     public void writeFloat(float value) {
         /** 如果value不合法或者是无穷数，调用writeNull */
         if (Float.isNaN(value) //
                 || Float.isInfinite(value)) {
             writeNull();
-        } else {
-            /** 将高精度float转换为字符串 */
-            String floatText= Float.toString(value);
-            /** 启动WriteNullNumberAsZero特性，会将结尾.0去除 */
-            if (floatText.endsWith(".0")) {
-                floatText = floatText.substring(0, floatText.length() - 2);
-            }
-
-            write(floatText);
+            return;
         }
+
+        ensureCapacity(Schubfach.MAX_FLOAT_LENGTH);
+        count = Schubfach.writeFloat(value, buf, count);
     }
 
     /**
@@ -227,10 +368,26 @@ public class SerializeWriter extends Writer {
         writeStringWithDoubleQuote(text, (char) 0);
     }
 
+    /**
+     * 序列化字符数组中的一段字符串, 不需要先创建 String
+     * @param text
+     * @param off
+     * @param len
+     */
+    public void writeString(char[] text, int off, int len) {
+        write('\"');
+        if (escapeMode == IOUtils.ESCAPE_NONE) {
+            write(text, off, len);
+        } else {
+            writeEscaped(text, off, len);
+        }
+        write('\"');
+    }
+
     /**
      * 序列化字段名称
      * @param key
-     * @param checkSpecial
+     * @param checkSpecial 是否需要转义
      */
     public void writeFieldName(String key, boolean checkSpecial) {
         if (key == null) {
@@ -238,11 +395,19 @@ public class SerializeWriter extends Writer {
             return;
         }
 
-        writeStringWithDoubleQuote(key, ':');
+        if (checkSpecial) {
+            writeStringWithDoubleQuote(key, ':');
+        } else {
+            write('\"');
+            write(key, 0, key.length());
+            write("\":");
+        }
     }
 
     /**
      * 序列化包含特殊字符的字符串
+     * 基本思路: 先把字符串整体拷贝到 buf, 再以 4 个字符为单位检查是否有需要转义的字符,
+     * 没有时直接完成; 有时保留前面不需要转义的部分, 其余的部分交给 writeEscaped
      * @param text
      * @param seperator
      */
@@ -263,13 +428,41 @@ public class SerializeWriter extends Writer {
             newcount++;
         }
 
+        if (newcount > buf.length) {
+            /** 当前段放不下, 逐段写入 */
+            write('\"');
+            if (escapeMode == IOUtils.ESCAPE_NONE) {
+                write(text, 0, len);
+            } else {
+                writeEscaped(text, 0, len);
+            }
+            write('\"');
+            if (seperator != 0) {
+                write(seperator);
+            }
+            return;
+        }
+
         int start = count + 1;
-        int end = start + len;
 
         buf[count] = '\"';
         /** buffer能够容纳字符串，直接拷贝text到buf缓冲数组 */
         text.getChars(0, len, buf, start);
 
+        if (escapeMode != IOUtils.ESCAPE_NONE) {
+            int index = IOUtils.indexOfEscape(buf, start, start + len, escapeMode);
+            if (index != -1) {
+                /** 保留 index 之前不需要转义的字符 */
+                count = index;
+                writeEscaped(text, index - start, len - (index - start));
+                write('\"');
+                if (seperator != 0) {
+                    write(seperator);
+                }
+                return;
+            }
+        }
+
         count = newcount;
 
         /** 追加引用符号 */
@@ -281,77 +474,148 @@ public class SerializeWriter extends Writer {
         }
     }
 
-    final static int[]  sizeTable = { 9, 99, 999, 9999, 99999, 999999, 9999999, 99999999, 999999999, Integer.MAX_VALUE };
+    /**
+     * 转义并输出 text[off, off + len), 字符串分块拷贝到临时的段中再转义
+     */
+    protected void writeEscaped(String text, int off, int len) {
+        char[] chars = allocateSegment();
+        try {
+            while (len > 0) {
+                int n = Math.min(len, chars.length);
+                text.getChars(off, off + n, chars, 0);
+                writeEscaped(chars, 0, n);
+                off += n;
+                len -= n;
+            }
+        } finally {
+            recycleSegment(chars);
+        }
+    }
+
+    /**
+     * 转义并输出 chars[off, off + len): 不需要转义的连续字符整体写入, 只有需要转义的字符单独处理
+     */
+    protected void writeEscaped(char[] chars, int off, int len) {
+        int end = off + len;
+        char[] escape = this.escapeChars;
+        while (off < end) {
+            int index = IOUtils.indexOfEscape(chars, off, end, escapeMode);
+            if (index == -1) {
+                write(chars, off, end - off);
+                return;
+            }
+
+            if (index > off) {
+                write(chars, off, index - off);
+            }
+            write(escape, 0, IOUtils.writeEscape(chars[index], escapeMode, escape, 0));
+            off = index + 1;
+        }
+    }
+
     /**
      * 根据传入的整数判断数字的位数
-     * 取自源代码的 IOUtil
-     * @param x 整数
+     * @param x 非负整数
      * @return
      */
     public int stringSize(int x) {
-        for (int i = 0;; i++) {
-            if (x <= sizeTable[i]) {
-                return i + 1;
-            }
-        }
+        return IOUtils.stringSize(x);
     }
 
-    final static char[] digits    = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f',
-            'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z' };
     /**
      * 将整数i转换成单字符并存储到chars数组
-     * 取自源代码的 IOUtil
      * @param i
      * @param index
      * @param buf
      */
     public void getChars(int i, int index, char[] buf) {
-        int q, r, p = index;
-        char sign = 0;
-
-        if (i < 0) {
-            sign = '-';
-            i = -i;
-        }
-
-        for (;;) {
-            q = (i * 52429) >>> (16 + 3);
-            r = i - ((q << 3) + (q << 1)); // r = i-(q*10) ...
-            buf[--p] = digits[r];
-            i = q;
-            if (i == 0) break;
-        }
-        if (sign != 0) {
-            buf[--p] = sign;
-        }
+        IOUtils.getChars(i, index, buf);
     }
 
+    /**
+     * 把缓存的字符全部输出到 writer
+     */
     public void flush() {
         if (writer == null) {
             return;
         }
 
+        spill();
         try {
-            writer.write(buf, 0, count);
             writer.flush();
         } catch (IOException e) {
             throw new JSONException(e.getMessage(), e);
         }
-        count = 0;
+    }
+
+    /**
+     * 把缓存的字符按顺序输出到 out, 不合并成一个大数组
+     * @param out
+     * @throws IOException
+     */
+    public void writeTo(Writer out) throws IOException {
+        for (int i = 0; i < segmentCount; ++i) {
+            out.write(segments[i], 0, segmentLengths[i]);
+        }
+        out.write(buf, 0, count);
     }
 
     public void close() {
+        if (buf == null) {
+            return;
+        }
+
         if (writer != null && count > 0) {
             flush();
         }
-        if (buf.length <= 1024 * 128) {
-            bufLocal.set(buf);
+
+        for (int i = 0; i < segmentCount; ++i) {
+            recycleSegment(segments[i]);
+            segments[i] = null;
         }
+        segmentCount = 0;
+        segmentChars = 0;
+        recycleSegment(buf);
 
         this.buf = null;
     }
 
+    /**
+     * 把所有段合并成一个数组
+     */
+    public char[] toCharArray() {
+        char[] chars = new char[size()];
+        int off = 0;
+        for (int i = 0; i < segmentCount; ++i) {
+            System.arraycopy(segments[i], 0, chars, off, segmentLengths[i]);
+            off += segmentLengths[i];
+        }
+        System.arraycopy(buf, 0, chars, off, count);
+        return chars;
+    }
+
+    /**
+     * 按指定字符集编码
+     * @param charset
+     * @return
+     */
+    public byte[] toBytes(Charset charset) {
+        ByteBuffer bytes;
+        if (segmentCount == 0) {
+            bytes = charset.encode(CharBuffer.wrap(buf, 0, count));
+        } else {
+            bytes = charset.encode(CharBuffer.wrap(toCharArray()));
+        }
+
+        byte[] result = new byte[bytes.remaining()];
+        bytes.get(result);
+        return result;
+    }
+
     public String toString() {
-        return new String(buf, 0, count);
+        if (segmentCount == 0) {
+            return new String(buf, 0, count);
+        }
+        return new String(toCharArray());
     }
 }
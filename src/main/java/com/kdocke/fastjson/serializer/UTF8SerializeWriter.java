@@ -0,0 +1,486 @@
+package com.kdocke.fastjson.serializer;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.util.IOUtils;
+import com.kdocke.fastjson.util.Schubfach;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * 直接输出 UTF-8 字节的序列化输出器
+ * 字符在写入时就编码为 UTF-8, 保存在固定大小的字节段中, 不再经过 char[] 和 String:
+ * ASCII 字符直接转为字节, 数字按 ASCII 直接写入, true / false / null 使用编码好的字节。
+ * 有 OutputStream 时写满的段直接输出并重复使用, 否则由 toBytes 合并。
+ * 父类的字符段只用作数字格式化和字符串编码时的临时空间。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:57
+ */
+public class UTF8SerializeWriter extends SerializeWriter {
+
+    /** 字节段的大小 */
+    public final static int                  SEGMENT_SIZE  = 16384;
+
+    private final static int                 MAX_POOLED    = 64;
+
+    private final static ThreadLocal<ArrayDeque<byte[]>> segmentPool = new ThreadLocal<ArrayDeque<byte[]>>() {
+        protected ArrayDeque<byte[]> initialValue() {
+            return new ArrayDeque<byte[]>();
+        }
+    };
+
+    private final static byte[]              TRUE          = { 't', 'r', 'u', 'e' };
+    private final static byte[]              FALSE         = { 'f', 'a', 'l', 's', 'e' };
+    private final static byte[]              NULL          = { 'n', 'u', 'l', 'l' };
+
+    private final static Charset             UTF8          = Charset.forName("UTF-8");
+
+    /** 当前字节段 */
+    protected byte                           bytes[];
+
+    /** 当前字节段中的字节数 */
+    protected int                            position;
+
+    private byte[][]                         segments;
+    private int[]                            segmentLengths;
+    private int                              segmentCount;
+    /** segments[readIndex, segmentCount) 中的字节数 */
+    private int                              segmentBytes;
+
+    /** drainTo 读到的位置: 第一个没有读完的段和其中已经读过的字节数 */
+    private int                              readIndex;
+    private int                              readOffset;
+
+    /** 输出流, 可以为 null */
+    private final OutputStream               stream;
+
+    public UTF8SerializeWriter(){
+        this((OutputStream) null);
+    }
+
+    public UTF8SerializeWriter(OutputStream stream){
+        this(stream, JSON.DEFAULT_GENERATE_FEATURE, SerializerFeature.EMPTY);
+    }
+
+    public UTF8SerializeWriter(OutputStream stream, int defaultFeatures, SerializerFeature... features) {
+        super(null, defaultFeatures, features);
+        this.stream = stream;
+        this.bytes = allocateSegment();
+    }
+
+    /**
+     * 保证当前段至少还有 len 个字节的连续空间, len 不超过 SEGMENT_SIZE
+     */
+    private void ensureBytes(int len) {
+        if (position + len > bytes.length) {
+            nextSegment();
+        }
+    }
+
+    private void nextSegment() {
+        if (stream != null) {
+            spill();
+            return;
+        }
+
+        if (segments == null) {
+            segments = new byte[8][];
+            segmentLengths = new int[8];
+        } else if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, segmentCount * 2);
+            segmentLengths = Arrays.copyOf(segmentLengths, segmentCount * 2);
+        }
+
+        segments[segmentCount] = bytes;
+        segmentLengths[segmentCount++] = position;
+        segmentBytes += position;
+
+        bytes = allocateSegment();
+        position = 0;
+    }
+
+    private void spill() {
+        try {
+            stream.write(bytes, 0, position);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+        position = 0;
+    }
+
+    private static byte[] allocateSegment() {
+        byte[] segment = segmentPool.get().poll();
+        return segment != null ? segment : new byte[SEGMENT_SIZE];
+    }
+
+    private static void recycleSegment(byte[] segment) {
+        ArrayDeque<byte[]> pool = segmentPool.get();
+        if (pool.size() < MAX_POOLED) {
+            pool.push(segment);
+        }
+    }
+
+    /**
+     * 还没有输出的字节数
+     */
+    public int size() {
+        return segmentBytes + position - readOffset;
+    }
+
+    /**
+     * 从头部取出尽可能多的字节放到 dst 中, 剩下的留到下一次;
+     * 只用于没有 OutputStream 的情况
+     * @param dst
+     * @return 取出的字节数
+     */
+    int drainTo(ByteBuffer dst) {
+        int drained = 0;
+        while (dst.hasRemaining()) {
+            byte[] src;
+            int limit;
+            if (readIndex < segmentCount) {
+                src = segments[readIndex];
+                limit = segmentLengths[readIndex];
+            } else {
+                src = bytes;
+                limit = position;
+            }
+
+            int n = Math.min(limit - readOffset, dst.remaining());
+            dst.put(src, readOffset, n);
+            readOffset += n;
+            drained += n;
+
+            if (readOffset < limit) {
+                break;
+            }
+
+            if (readIndex < segmentCount) {
+                /** 读完的段归还到池中 */
+                segmentBytes -= limit;
+                recycleSegment(src);
+                segments[readIndex++] = null;
+                readOffset = 0;
+            } else {
+                /** 全部读完, 从头开始使用当前段 */
+                readIndex = segmentCount = 0;
+                readOffset = position = 0;
+                break;
+            }
+        }
+        return drained;
+    }
+
+    private void writeBytes(byte[] src) {
+        ensureBytes(src.length);
+        System.arraycopy(src, 0, bytes, position, src.length);
+        position += src.length;
+    }
+
+    /**
+     * 写入 ASCII 字符
+     */
+    private void writeAscii(char[] chars, int off, int len) {
+        ensureBytes(len);
+        byte[] bytes = this.bytes;
+        int position = this.position;
+        for (int i = off, end = off + len; i < end; ++i) {
+            bytes[position++] = (byte) chars[i];
+        }
+        this.position = position;
+    }
+
+    public void write(int c) {
+        if (c < 0x80) {
+            if (position == bytes.length) {
+                nextSegment();
+            }
+            bytes[position++] = (byte) c;
+            return;
+        }
+
+        buf[0] = (char) c;
+        write(buf, 0, 1);
+    }
+
+    /**
+     * 编码字符数组, 每次处理当前段能容纳的部分
+     */
+    public void write(char[] c, int off, int len) {
+        if (off < 0 //
+                || off > c.length //
+                || len < 0 //
+                || off + len > c.length //
+                || off + len < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int end = off + len;
+        while (off < end) {
+            int room = bytes.length - position;
+            if (room < 8) {
+                nextSegment();
+                room = bytes.length - position;
+            }
+
+            /** 每个字符最多 3 个字节, 留一个字节给跨过边界的代理对 */
+            int chunkEnd = Math.min(end, off + (room - 1) / 3);
+            off = encode(c, off, chunkEnd, end);
+        }
+    }
+
+    /**
+     * 编码 [off, chunkEnd) 中的字符, chunkEnd 处截断的代理对会被完整编码
+     * @return 下一个要编码的位置
+     */
+    private int encode(char[] c, int off, int chunkEnd, int end) {
+        byte[] bytes = this.bytes;
+        int position = this.position;
+
+        /** ASCII 快速路径 */
+        while (off < chunkEnd && c[off] < 0x80) {
+            bytes[position++] = (byte) c[off++];
+        }
+
+        while (off < chunkEnd) {
+            char ch = c[off++];
+            if (ch < 0x80) {
+                bytes[position++] = (byte) ch;
+            } else if (ch < 0x800) {
+                bytes[position++] = (byte) (0xC0 | ch >> 6);
+                bytes[position++] = (byte) (0x80 | ch & 0x3F);
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && off < end && Character.isLowSurrogate(c[off])) {
+                    int cp = Character.toCodePoint(ch, c[off++]);
+                    bytes[position++] = (byte) (0xF0 | cp >> 18);
+                    bytes[position++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | cp & 0x3F);
+                } else {
+                    /** 不成对的代理字符, 和 String.getBytes 一样输出 '?' */
+                    bytes[position++] = '?';
+                }
+            } else {
+                bytes[position++] = (byte) (0xE0 | ch >> 12);
+                bytes[position++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | ch & 0x3F);
+            }
+        }
+
+        this.position = position;
+        return off;
+    }
+
+    /**
+     * 字符串先分块拷贝到临时字符段, 再编码
+     */
+    public void write(String str, int off, int len) {
+        char[] chars = this.buf;
+        while (len > 0) {
+            int n = Math.min(len, chars.length);
+            /** 不在临时空间的末尾拆开代理对 */
+            if (n < len && Character.isHighSurrogate(str.charAt(off + n - 1))) {
+                n--;
+            }
+            str.getChars(off, off + n, chars, 0);
+            write(chars, 0, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    public void writeNull() {
+        writeBytes(NULL);
+    }
+
+    public void write(boolean value) {
+        writeBytes(value ? TRUE : FALSE);
+    }
+
+    public void writeInt(int i) {
+        if (i == Integer.MIN_VALUE) {
+            write("-2147483648");
+            return;
+        }
+
+        int size = (i < 0) ? IOUtils.stringSize(-i) + 1 : IOUtils.stringSize(i);
+        ensureBytes(size);
+        IOUtils.getChars(i, position + size, bytes);
+        position += size;
+    }
+
+    public void writeLong(long i) {
+        if (i == Long.MIN_VALUE) {
+            write("-9223372036854775808");
+            return;
+        }
+
+        int size = (i < 0) ? IOUtils.stringSize(-i) + 1 : IOUtils.stringSize(i);
+        ensureBytes(size);
+        IOUtils.getChars(i, position + size, bytes);
+        position += size;
+    }
+
+    public void writeDouble(double doubleValue) {
+        if (Double.isNaN(doubleValue)
+                || Double.isInfinite(doubleValue)) {
+            writeNull();
+            return;
+        }
+
+        writeAscii(buf, 0, Schubfach.writeDouble(doubleValue, buf, 0));
+    }
+
+    public void writeDouble(double doubleValue, int scale) {
+        if (Double.isNaN(doubleValue)
+                || Double.isInfinite(doubleValue)) {
+            writeNull();
+            return;
+        }
+
+        writeAscii(buf, 0, Schubfach.writeDouble(doubleValue, scale, buf, 0));
+    }
+
+    public void writeFloat(float value) {
+        if (Float.isNaN(value) //
+                || Float.isInfinite(value)) {
+            writeNull();
+            return;
+        }
+
+        writeAscii(buf, 0, Schubfach.writeFloat(value, buf, 0));
+    }
+
+    public void writeStringWithDoubleQuote(String text, final char seperator) {
+        if (text == null) {
+            writeNull();
+            if (seperator != 0) {
+                write(seperator);
+            }
+            return;
+        }
+
+        write('\"');
+        if (escapeMode == IOUtils.ESCAPE_NONE) {
+            write(text, 0, text.length());
+        } else {
+            writeEscaped(text, 0, text.length());
+        }
+        write('\"');
+        if (seperator != 0) {
+            write(seperator);
+        }
+    }
+
+    /**
+     * 分块拷贝到临时字符段, 转义后编码; 不在临时空间的末尾拆开代理对
+     */
+    protected void writeEscaped(String text, int off, int len) {
+        char[] chars = this.buf;
+        while (len > 0) {
+            int n = Math.min(len, chars.length);
+            if (n < len && Character.isHighSurrogate(text.charAt(off + n - 1))) {
+                n--;
+            }
+            text.getChars(off, off + n, chars, 0);
+            writeEscaped(chars, 0, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * 把缓存的字节全部输出到流
+     */
+    public void flush() {
+        if (stream == null) {
+            return;
+        }
+
+        spill();
+        try {
+            stream.flush();
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 把缓存的字节按顺序输出到 out, 不合并成一个大数组
+     * @param out
+     * @throws IOException
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        int offset = readOffset;
+        for (int i = readIndex; i < segmentCount; ++i) {
+            out.write(segments[i], offset, segmentLengths[i] - offset);
+            offset = 0;
+        }
+        out.write(bytes, offset, position - offset);
+    }
+
+    public void writeTo(Writer out) throws IOException {
+        out.write(toString());
+    }
+
+    public void close() {
+        if (bytes == null) {
+            return;
+        }
+
+        if (stream != null && position > 0) {
+            flush();
+        }
+
+        for (int i = readIndex; i < segmentCount; ++i) {
+            recycleSegment(segments[i]);
+            segments[i] = null;
+        }
+        readIndex = segmentCount = 0;
+        readOffset = segmentBytes = 0;
+        recycleSegment(bytes);
+        bytes = null;
+
+        super.close();
+    }
+
+    /**
+     * 合并所有字节段
+     */
+    public byte[] toBytes() {
+        byte[] result = new byte[size()];
+        int off = 0, offset = readOffset;
+        for (int i = readIndex; i < segmentCount; ++i) {
+            int len = segmentLengths[i] - offset;
+            System.arraycopy(segments[i], offset, result, off, len);
+            off += len;
+            offset = 0;
+        }
+        System.arraycopy(bytes, offset, result, off, position - offset);
+        return result;
+    }
+
+    public byte[] toBytes(Charset charset) {
+        if (UTF8.equals(charset)) {
+            return toBytes();
+        }
+        return toString().getBytes(charset);
+    }
+
+    public char[] toCharArray() {
+        return toString().toCharArray();
+    }
+
+    public String toString() {
+        if (segmentCount == readIndex) {
+            return new String(bytes, readOffset, position - readOffset, UTF8);
+        }
+        return new String(toBytes(), UTF8);
+    }
+}
@@ -0,0 +1,146 @@
+package com.kdocke.fastjson.util;
+
+import java.math.BigInteger;
+
+/**
+ * 十进制 (有效数字 * 10^指数) 转 double 的快速算法 (Eisel-Lemire)
+ * 用 128 位的 10 的幂近似值和有效数字相乘, 取高位得到 double 的尾数;
+ * 近似误差可能影响舍入时返回 NaN, 由调用方回退到 Double.parseDouble。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:42
+ */
+public class EiselLemire {
+
+    private final static int      MIN_EXP10 = -342;
+    private final static int      MAX_EXP10 = 308;
+
+    /**
+     * 10^e 的 128 位尾数 (最高位为 1, 向下取整), 下标为 e - MIN_EXP10
+     */
+    private final static long[]   POWERS_HI = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    private final static long[]   POWERS_LO = new long[MAX_EXP10 - MIN_EXP10 + 1];
+
+    /**
+     * 可以精确表示的 10 的幂
+     */
+    private final static double[] EXACT_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        for (int e = MIN_EXP10; e <= MAX_EXP10; ++e) {
+            BigInteger mantissa;
+            if (e >= 0) {
+                mantissa = five.pow(e);
+            } else {
+                /** 2^b / 5^-e, b 足够大时商的有效位数超过 128 */
+                BigInteger divisor = five.pow(-e);
+                mantissa = BigInteger.ONE.shiftLeft(divisor.bitLength() + 128).divide(divisor);
+            }
+
+            /** 10^e 和 5^e 只差 2 的幂, 尾数相同; 规格化到 128 位 */
+            int shift = mantissa.bitLength() - 128;
+            mantissa = shift > 0 ? mantissa.shiftRight(shift) : mantissa.shiftLeft(-shift);
+
+            POWERS_HI[e - MIN_EXP10] = mantissa.shiftRight(64).longValue();
+            POWERS_LO[e - MIN_EXP10] = mantissa.longValue();
+        }
+    }
+
+    private EiselLemire(){
+    }
+
+    /**
+     * 计算 mantissa * 10^exp10
+     * @param mantissa 有效数字, 按无符号数处理
+     * @param exp10 十进制指数
+     * @param negative 是否为负数
+     * @return 无法确定正确的舍入时返回 NaN
+     */
+    public static double toDouble(long mantissa, int exp10, boolean negative) {
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        /** 有效数字和 10 的幂都能精确表示时, 一次乘除只有一次舍入, 结果就是正确的 (Clinger) */
+        if (mantissa > 0 && mantissa <= 1L << 53 && exp10 >= -22 && exp10 <= 22) {
+            double value = (double) mantissa;
+            value = exp10 < 0 ? value / EXACT_POWERS[-exp10] : value * EXACT_POWERS[exp10];
+            return negative ? -value : value;
+        }
+
+        if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10) {
+            return Double.NaN;
+        }
+
+        /** 规格化, 使最高位为 1 */
+        int lz = Long.numberOfLeadingZeros(mantissa);
+        mantissa <<= lz;
+
+        /** 217706 / 2^16 约等于 log2(10) */
+        long exp2 = (217706L * exp10 >> 16) + 64 + 1023 - lz;
+
+        int index = exp10 - MIN_EXP10;
+        long hi = multiplyHigh(mantissa, POWERS_HI[index]);
+        long lo = mantissa * POWERS_HI[index];
+
+        /** 低 9 位全为 1 时, 截断的误差可能进位到尾数, 再乘上 128 位近似值的低 64 位 */
+        if ((hi & 0x1FF) == 0x1FF && Long.compareUnsigned(lo + mantissa, mantissa) < 0) {
+            long yHi = multiplyHigh(mantissa, POWERS_LO[index]);
+            long yLo = mantissa * POWERS_LO[index];
+            long mergedHi = hi, mergedLo = lo + yHi;
+            if (Long.compareUnsigned(mergedLo, lo) < 0) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + mantissa, mantissa) < 0) {
+                return Double.NaN;
+            }
+            hi = mergedHi;
+            lo = mergedLo;
+        }
+
+        /** 取 54 位, 多出的一位用于舍入 */
+        long msb = hi >>> 63;
+        long bits = hi >>> (msb + 9);
+        exp2 -= 1 ^ msb;
+
+        /** 正好在两个 double 中间, 无法判断截断的部分 */
+        if (lo == 0 && (hi & 0x1FF) == 0 && (bits & 3) == 1) {
+            return Double.NaN;
+        }
+
+        /** 舍入到 53 位 */
+        bits += bits & 1;
+        bits >>>= 1;
+        if (bits >>> 53 > 0) {
+            bits >>>= 1;
+            exp2++;
+        }
+
+        /** 非规格化数、无穷大交给 Double.parseDouble */
+        if (exp2 <= 0 || exp2 >= 0x7FF) {
+            return Double.NaN;
+        }
+
+        long doubleBits = exp2 << 52 | bits & 0x000FFFFFFFFFFFFFL;
+        if (negative) {
+            doubleBits |= 0x8000000000000000L;
+        }
+        return Double.longBitsToDouble(doubleBits);
+    }
+
+    /**
+     * 无符号 64 位乘法的高 64 位
+     */
+    static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+
+        long w0 = x0 * y0;
+        long t = x1 * y0 + (w0 >>> 32);
+        long w1 = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+}
@@ -0,0 +1,335 @@
+package com.kdocke.fastjson.util;
+
+import com.kdocke.fastjson.serializer.SerializerFeature;
+
+/**
+ * 整数转字符、字符串转义的工具方法
+ * 每次循环用两位数字的查找表输出两个字符, 位数用 log10 的近似值加一次比较得到, 不需要逐个查表;
+ * 字符串一次检查 4 个字符, 只有其中可能有需要转义的字符时才逐个查转义表
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:53
+ */
+public class IOUtils {
+
+    /**
+     * 两位数 r 的十位和个位字符, r 为 [0, 100)
+     */
+    public final static char[] DigitTens   = new char[100];
+    public final static char[] DigitOnes   = new char[100];
+
+    private final static int[]  INT_POW10  = new int[10];
+    private final static long[] LONG_POW10 = new long[19];
+
+    static {
+        for (int i = 0; i < 100; ++i) {
+            DigitTens[i] = (char) ('0' + i / 10);
+            DigitOnes[i] = (char) ('0' + i % 10);
+        }
+
+        long pow = 1;
+        for (int i = 0; i < LONG_POW10.length; ++i) {
+            LONG_POW10[i] = pow;
+            if (i < INT_POW10.length) {
+                INT_POW10[i] = (int) pow;
+            }
+            pow *= 10;
+        }
+    }
+
+    /**
+     * 转义方式, 由序列化特性得到, 见 escapeMode
+     */
+    public final static int     ESCAPE_NONE      = -1;
+    public final static int     ESCAPE_SLASH     = 1;
+    public final static int     ESCAPE_SECURE    = 2;
+    public final static int     ESCAPE_NON_ASCII = 4;
+
+    /**
+     * 各转义方式下 ASCII 字符的转义表, 以 escapeMode & 3 为下标;
+     * 0 表示不需要转义, 'u' 表示输出反斜杠 u 加 4 位十六进制, 其余为反斜杠后面的字符
+     */
+    private final static char[][] ESCAPE_TABLES = new char[4][];
+
+    private final static char[]   HEX_DIGITS    = "0123456789abcdef".toCharArray();
+
+    private final static long     LANE_ONES     = 0x0001000100010001L;
+    private final static long     LANE_HIGHS    = 0x8000800080008000L;
+
+    static {
+        for (int mode = 0; mode < ESCAPE_TABLES.length; ++mode) {
+            char[] table = new char[128];
+            for (int i = 0; i < 0x20; ++i) {
+                table[i] = 'u';
+            }
+            table['\b'] = 'b';
+            table['\t'] = 't';
+            table['\n'] = 'n';
+            table['\f'] = 'f';
+            table['\r'] = 'r';
+            table['"'] = '"';
+            table['\\'] = '\\';
+            if ((mode & ESCAPE_SLASH) != 0) {
+                table['/'] = '/';
+            }
+            if ((mode & ESCAPE_SECURE) != 0) {
+                table['<'] = 'u';
+                table['>'] = 'u';
+                table['('] = 'u';
+                table[')'] = 'u';
+            }
+            ESCAPE_TABLES[mode] = table;
+        }
+    }
+
+    private IOUtils(){
+    }
+
+    /**
+     * 非负整数的位数
+     * 1233 / 4096 约等于 log10(2), 由二进制位数得到的近似值最多小 1
+     * @param x 非负整数
+     * @return
+     */
+    public static int stringSize(int x) {
+        x |= 1;
+        int t = (32 - Integer.numberOfLeadingZeros(x)) * 1233 >>> 12;
+        return x >= INT_POW10[t] ? t + 1 : t;
+    }
+
+    public static int stringSize(long x) {
+        x |= 1;
+        int t = (64 - Long.numberOfLeadingZeros(x)) * 1233 >>> 12;
+        return x >= LONG_POW10[t] ? t + 1 : t;
+    }
+
+    /**
+     * 将整数 i 转换成字符, 从 index 往前写入 buf, 即写到 [index - size, index)
+     * Integer.MIN_VALUE 由调用方处理
+     * @param i
+     * @param index
+     * @param buf
+     */
+    public static void getChars(int i, int index, char[] buf) {
+        int q, r, p = index;
+        char sign = 0;
+
+        if (i < 0) {
+            sign = '-';
+            i = -i;
+        }
+
+        /** 每次输出两位 */
+        while (i >= 100) {
+            q = i / 100;
+            r = i - q * 100;
+            i = q;
+            buf[--p] = DigitOnes[r];
+            buf[--p] = DigitTens[r];
+        }
+
+        buf[--p] = DigitOnes[i];
+        if (i >= 10) {
+            buf[--p] = DigitTens[i];
+        }
+
+        if (sign != 0) {
+            buf[--p] = sign;
+        }
+    }
+
+    /**
+     * 将长整数 i 转换成字符, 从 index 往前写入 buf; Long.MIN_VALUE 由调用方处理
+     */
+    public static void getChars(long i, int index, char[] buf) {
+        long q;
+        int r, p = index;
+        char sign = 0;
+
+        if (i < 0) {
+            sign = '-';
+            i = -i;
+        }
+
+        /** 超过 int 范围的部分按 long 除法, 剩下的按 int 处理 */
+        while (i > Integer.MAX_VALUE) {
+            q = i / 100;
+            r = (int) (i - q * 100);
+            i = q;
+            buf[--p] = DigitOnes[r];
+            buf[--p] = DigitTens[r];
+        }
+
+        getChars((int) i, p, buf);
+        if (sign != 0) {
+            buf[p - stringSize((int) i) - 1] = sign;
+        }
+    }
+
+    /**
+     * 将整数 i 转换成 ASCII 字节, 从 index 往前写入 buf; Integer.MIN_VALUE 由调用方处理
+     */
+    public static void getChars(int i, int index, byte[] buf) {
+        int q, r, p = index;
+        byte sign = 0;
+
+        if (i < 0) {
+            sign = '-';
+            i = -i;
+        }
+
+        while (i >= 100) {
+            q = i / 100;
+            r = i - q * 100;
+            i = q;
+            buf[--p] = (byte) DigitOnes[r];
+            buf[--p] = (byte) DigitTens[r];
+        }
+
+        buf[--p] = (byte) DigitOnes[i];
+        if (i >= 10) {
+            buf[--p] = (byte) DigitTens[i];
+        }
+
+        if (sign != 0) {
+            buf[--p] = sign;
+        }
+    }
+
+    /**
+     * 将长整数 i 转换成 ASCII 字节, 从 index 往前写入 buf; Long.MIN_VALUE 由调用方处理
+     */
+    public static void getChars(long i, int index, byte[] buf) {
+        long q;
+        int r, p = index;
+        byte sign = 0;
+
+        if (i < 0) {
+            sign = '-';
+            i = -i;
+        }
+
+        while (i > Integer.MAX_VALUE) {
+            q = i / 100;
+            r = (int) (i - q * 100);
+            i = q;
+            buf[--p] = (byte) DigitOnes[r];
+            buf[--p] = (byte) DigitTens[r];
+        }
+
+        getChars((int) i, p, buf);
+        if (sign != 0) {
+            buf[p - stringSize((int) i) - 1] = sign;
+        }
+    }
+
+    /**
+     * 根据序列化特性得到转义方式
+     * @param features
+     * @return
+     */
+    @SuppressWarnings("deprecation")
+    public static int escapeMode(int features) {
+        if ((features & SerializerFeature.DisableCheckSpecialChar.mask) != 0) {
+            return ESCAPE_NONE;
+        }
+
+        int mode = 0;
+        if ((features & SerializerFeature.WriteSlashAsSpecial.mask) != 0) {
+            mode |= ESCAPE_SLASH;
+        }
+        if ((features & SerializerFeature.BrowserSecure.mask) != 0) {
+            mode |= ESCAPE_SECURE;
+        }
+        if ((features & SerializerFeature.BrowserCompatible.mask) != 0) {
+            mode |= ESCAPE_NON_ASCII;
+        }
+        return mode;
+    }
+
+    /**
+     * 查找 buf[from, to) 中第一个需要转义的字符
+     * 每次读取 4 个字符, 用 SWAR 判断其中是否有控制字符、引号、反斜杠以及转义方式要求的其它字符,
+     * 没有时直接跳过, 不需要逐个字符判断
+     * @param buf
+     * @param from
+     * @param to
+     * @param mode 转义方式, 不能是 ESCAPE_NONE
+     * @return 没有时返回 -1
+     */
+    public static int indexOfEscape(char[] buf, int from, int to, int mode) {
+        final char[] table = ESCAPE_TABLES[mode & 3];
+        final boolean nonAscii = (mode & ESCAPE_NON_ASCII) != 0;
+
+        int i = from;
+        for (; i + 4 <= to; i += 4) {
+            long word = UnsafeUtils.getLong(buf, i);
+
+            /** 小于 0x20 的字符, '"' 和 '\\' */
+            long special = (word - LANE_ONES * 0x20) & ~word & LANE_HIGHS
+                           | hasZero(word ^ LANE_ONES * '"')
+                           | hasZero(word ^ LANE_ONES * '\\');
+            if (mode != 0) {
+                if ((mode & ESCAPE_SLASH) != 0) {
+                    special |= hasZero(word ^ LANE_ONES * '/');
+                }
+                if ((mode & ESCAPE_SECURE) != 0) {
+                    special |= hasZero(word ^ LANE_ONES * '<') | hasZero(word ^ LANE_ONES * '>') //
+                               | hasZero(word ^ LANE_ONES * '(') | hasZero(word ^ LANE_ONES * ')');
+                }
+                if (nonAscii) {
+                    /** 非 ASCII 字符 */
+                    special |= word & 0xFF80FF80FF80FF80L;
+                }
+            }
+
+            if (special != 0) {
+                /** 可能有, 逐个确认 */
+                for (int j = i; j < i + 4; ++j) {
+                    char ch = buf[j];
+                    if (ch < 128 ? table[ch] != 0 : nonAscii) {
+                        return j;
+                    }
+                }
+            }
+        }
+
+        for (; i < to; ++i) {
+            char ch = buf[i];
+            if (ch < 128 ? table[ch] != 0 : nonAscii) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 有值为 0 的 16 位时对应的最高位为 1
+     */
+    private static long hasZero(long word) {
+        return (word - LANE_ONES) & ~word & LANE_HIGHS;
+    }
+
+    /**
+     * 字符 ch 的转义形式写入 buf[off, ...), ch 是 indexOfEscape 找到的字符
+     * @param ch
+     * @param mode
+     * @param buf 至少有 6 个字符的空间
+     * @param off
+     * @return 写入后的位置
+     */
+    public static int writeEscape(char ch, int mode, char[] buf, int off) {
+        char code = ch < 128 ? ESCAPE_TABLES[mode & 3][ch] : 'u';
+        buf[off++] = '\\';
+        if (code != 'u') {
+            buf[off++] = code;
+            return off;
+        }
+
+        buf[off++] = 'u';
+        buf[off++] = HEX_DIGITS[ch >>> 12];
+        buf[off++] = HEX_DIGITS[(ch >>> 8) & 0xF];
+        buf[off++] = HEX_DIGITS[(ch >>> 4) & 0xF];
+        buf[off++] = HEX_DIGITS[ch & 0xF];
+        return off;
+    }
+}
@@ -0,0 +1,434 @@
+package com.kdocke.fastjson.util;
+
+import java.math.BigInteger;
+
+/**
+ * double / float 转十进制字符的最短表示算法 (Schubfach, Raffaello Giulietti)
+ * 得到能唯一还原出原值的最短十进制数, 直接写入 char[], 不创建 String;
+ * 格式和 Double.toString / Float.toString (JDK 19 之后) 相同, 只是去掉了整数结尾的 ".0":
+ * <pre>
+ * 10^-3 <= |v| < 10^7 时为普通小数, 例如 123、0.001、3.14
+ * 否则为科学计数法, 例如 1.0E7、1.234E-5
+ * </pre>
+ * 调用方负责处理 NaN 和无穷大。
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:51
+ */
+public class Schubfach {
+
+    /**
+     * 最短表示的最大长度, 例如 -2.2250738585072014E-308
+     */
+    public final static int       MAX_DOUBLE_LENGTH = 24;
+    public final static int       MAX_FLOAT_LENGTH  = 15;
+
+    /**
+     * 定点格式的最大小数位数, 以及整数部分超过 21 位时改用最短表示
+     */
+    public final static int       MAX_SCALE         = 20;
+    private final static int      MAX_FIXED_EXP10   = 21;
+
+    private final static int      K_MIN             = -324;
+    private final static int      K_MAX             = 292;
+
+    /**
+     * g = floor(10^-k * 2^-r) + 1, r = flog2pow10(-k) - 125, 126 位;
+     * G1 为高 63 位, G0 为低 63 位, 下标为 k - K_MIN
+     */
+    private final static long[]   G1                = new long[K_MAX - K_MIN + 1];
+    private final static long[]   G0                = new long[K_MAX - K_MIN + 1];
+
+    private final static long[]   POW10             = new long[19];
+
+    private final static long     MASK_63           = 0x7FFFFFFFFFFFFFFFL;
+    private final static long     MASK_32           = 0xFFFFFFFFL;
+
+    static {
+        BigInteger ten = BigInteger.TEN;
+        for (int k = K_MIN; k <= K_MAX; ++k) {
+            int e = -k;
+            int r = flog2pow10(e) - 125;
+
+            BigInteger g;
+            if (e >= 0) {
+                BigInteger pow = ten.pow(e);
+                g = r <= 0 ? pow.shiftLeft(-r) : pow.shiftRight(r);
+            } else {
+                g = BigInteger.ONE.shiftLeft(-r).divide(ten.pow(-e));
+            }
+            g = g.add(BigInteger.ONE);
+
+            G1[k - K_MIN] = g.shiftRight(63).longValue();
+            G0[k - K_MIN] = g.longValue() & MASK_63;
+        }
+
+        long pow = 1;
+        for (int i = 0; i < POW10.length; ++i) {
+            POW10[i] = pow;
+            pow *= 10;
+        }
+    }
+
+    private Schubfach(){
+    }
+
+    /**
+     * 写入 double 的最短表示
+     * @param v 有限值
+     * @param buf 至少有 MAX_DOUBLE_LENGTH 个字符的空间
+     * @param off
+     * @return 写入之后的位置
+     */
+    public static int writeDouble(double v, char[] buf, int off) {
+        return toDecimal(Double.doubleToRawLongBits(v), -1, buf, off);
+    }
+
+    /**
+     * 写入 float 的最短表示
+     */
+    public static int writeFloat(float v, char[] buf, int off) {
+        return toDecimal(Float.floatToRawIntBits(v), buf, off);
+    }
+
+    /**
+     * 定点格式: 对最短表示按 scale 位小数四舍五入 (HALF_UP), 不足的小数位补 0, 例如 (1.005, 2) 为 1.01;
+     * 整数部分超过 21 位时按最短表示输出
+     * @param v 有限值
+     * @param scale 小数位数, [0, MAX_SCALE]
+     * @param buf 至少有 MAX_SCALE + 24 个字符的空间
+     * @param off
+     * @return 写入之后的位置
+     */
+    public static int writeDouble(double v, int scale, char[] buf, int off) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("scale " + scale);
+        }
+        return toDecimal(Double.doubleToRawLongBits(v), scale, buf, off);
+    }
+
+    /**
+     * 输出 f * 10^e, scale 小于 0 时为最短表示
+     */
+    private static int toChars(long f, int e, int scale, char[] buf, int off) {
+        if (f == 0) {
+            buf[off++] = '0';
+            return scale <= 0 ? off : writeFraction(scale, buf, off);
+        }
+
+        /** 去掉结尾的 0 */
+        if (f % 100000000 == 0) {
+            f /= 100000000;
+            e += 8;
+        }
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+
+        if (scale < 0 || e + IOUtils.stringSize(f) > MAX_FIXED_EXP10) {
+            return writeShortest(f, e, buf, off);
+        }
+        return writeFixed(f, e, scale, buf, off);
+    }
+
+    private static int writeFixed(long f, int e, int scale, char[] buf, int off) {
+        if (e >= 0) {
+            /** 整数: 数字、e 个 0, 再补 scale 位小数 0 */
+            off = writeDigits(f, IOUtils.stringSize(f), buf, off);
+            off = writeZeros(e, buf, off);
+            return writeFraction(scale, buf, off);
+        }
+
+        int frac = -e;
+        if (frac > scale) {
+            /** 舍掉 drop 位 */
+            int drop = frac - scale;
+            if (drop > IOUtils.stringSize(f)) {
+                f = 0;
+            } else {
+                long p = POW10[drop];
+                long q = f / p;
+                f = (f - q * p) * 2 >= p ? q + 1 : q;
+            }
+            frac = scale;
+        }
+
+        /** f * 10^-frac, 再补 scale - frac 位 0 */
+        int n = IOUtils.stringSize(f);
+        if (frac == 0) {
+            off = writeDigits(f, n, buf, off);
+            return writeFraction(scale, buf, off);
+        }
+
+        if (n <= frac) {
+            buf[off++] = '0';
+            buf[off++] = '.';
+            off = writeZeros(frac - n, buf, off);
+            off = writeDigits(f, n, buf, off);
+        } else {
+            off = writeDigits(f, n, buf, off);
+            off = insertPoint(buf, off, frac);
+        }
+        return writeZeros(scale - frac, buf, off);
+    }
+
+    /**
+     * 按 value = f * 10^e 输出, 格式同 Double.toString 去掉结尾的 ".0"
+     */
+    private static int writeShortest(long f, int e, char[] buf, int off) {
+        int n = IOUtils.stringSize(f);
+        /** value = 0.d1d2...dn * 10^exp10 */
+        int exp10 = e + n;
+
+        if (0 < exp10 && exp10 <= 7) {
+            off = writeDigits(f, n, buf, off);
+            if (n <= exp10) {
+                return writeZeros(exp10 - n, buf, off);
+            }
+            return insertPoint(buf, off, n - exp10);
+        }
+
+        if (-3 < exp10 && exp10 <= 0) {
+            buf[off++] = '0';
+            buf[off++] = '.';
+            off = writeZeros(-exp10, buf, off);
+            return writeDigits(f, n, buf, off);
+        }
+
+        off = writeDigits(f, n, buf, off);
+        if (n == 1) {
+            buf[off++] = '.';
+            buf[off++] = '0';
+        } else {
+            off = insertPoint(buf, off, n - 1);
+        }
+
+        buf[off++] = 'E';
+        int exp = exp10 - 1;
+        if (exp < 0) {
+            buf[off++] = '-';
+            exp = -exp;
+        }
+        if (exp >= 100) {
+            buf[off++] = (char) ('0' + exp / 100);
+            exp %= 100;
+            buf[off++] = (char) ('0' + exp / 10);
+        } else if (exp >= 10) {
+            buf[off++] = (char) ('0' + exp / 10);
+        }
+        buf[off++] = (char) ('0' + exp % 10);
+        return off;
+    }
+
+    /**
+     * 在 [.., end) 的最后 fraction 个数字之前插入小数点
+     */
+    private static int insertPoint(char[] buf, int end, int fraction) {
+        int point = end - fraction;
+        System.arraycopy(buf, point, buf, point + 1, fraction);
+        buf[point] = '.';
+        return end + 1;
+    }
+
+    private static int writeFraction(int scale, char[] buf, int off) {
+        if (scale == 0) {
+            return off;
+        }
+        buf[off++] = '.';
+        return writeZeros(scale, buf, off);
+    }
+
+    private static int writeZeros(int count, char[] buf, int off) {
+        for (int i = 0; i < count; ++i) {
+            buf[off++] = '0';
+        }
+        return off;
+    }
+
+    /**
+     * 写入 f 的 n 位数字
+     */
+    private static int writeDigits(long f, int n, char[] buf, int off) {
+        IOUtils.getChars(f, off + n, buf);
+        return off + n;
+    }
+
+    /**
+     * double 的位模式转为最短的十进制表示并输出
+     */
+    private static int toDecimal(long bits, int scale, char[] buf, int off) {
+        if (bits < 0) {
+            buf[off++] = '-';
+        }
+
+        long t = bits & 0x000FFFFFFFFFFFFFL;
+        int bq = (int) (bits >>> 52) & 0x7FF;
+        if (bq != 0) {
+            /** 规格化数, value = c * 2^-mq */
+            int mq = 1075 - bq;
+            long c = 1L << 52 | t;
+            /** 小的整数 */
+            if (0 < mq && mq < 53) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, scale, buf, off);
+                }
+            }
+            return toDecimal(-mq, c, 0, scale, buf, off);
+        }
+        if (t != 0) {
+            /** 非规格化数 */
+            return t < 3 ? toDecimal(-1074, 10 * t, -1, scale, buf, off) : toDecimal(-1074, t, 0, scale, buf, off);
+        }
+        return toChars(0, 0, scale, buf, off);
+    }
+
+    private static int toDecimal(int q, long c, int dk, int scale, char[] buf, int off) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != 1L << 52 || q == -1074) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = G1[k - K_MIN];
+        long g0 = G0[k - K_MIN];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            /** 先尝试少一位有效数字 */
+            long sp10 = 10 * EiselLemire.multiplyHigh(s, 115292150460684698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, scale, buf, off);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, scale, buf, off);
+        }
+        long cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, scale, buf, off);
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = EiselLemire.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = EiselLemire.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * float 的位模式转为最短的十进制表示并输出
+     */
+    private static int toDecimal(int bits, char[] buf, int off) {
+        if (bits < 0) {
+            buf[off++] = '-';
+        }
+
+        int t = bits & 0x007FFFFF;
+        int bq = (bits >>> 23) & 0xFF;
+        if (bq != 0) {
+            int mq = 150 - bq;
+            int c = 1 << 23 | t;
+            if (0 < mq && mq < 24) {
+                int f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, -1, buf, off);
+                }
+            }
+            return toDecimalFloat(-mq, c, 0, buf, off);
+        }
+        if (t != 0) {
+            return t < 8 ? toDecimalFloat(-149, 10 * t, -1, buf, off) : toDecimalFloat(-149, t, 0, buf, off);
+        }
+        return toChars(0, 0, -1, buf, off);
+    }
+
+    private static int toDecimalFloat(int q, int c, int dk, char[] buf, int off) {
+        int out = c & 0x1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != 1 << 23 || q == -149) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+
+        long g = G1[k - K_MIN] + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1717986919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, -1, buf, off);
+            }
+        }
+
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, -1, buf, off);
+        }
+        int cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, -1, buf, off);
+    }
+
+    private static int rop(long g, long cp) {
+        long x1 = EiselLemire.multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    /**
+     * floor(e * log10(2))
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661971961083L >> 41);
+    }
+
+    /**
+     * floor(e * log10(2) + log10(3/4))
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661971961083L + -274743187321L >> 41);
+    }
+
+    /**
+     * floor(e * log2(10))
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913124641741L >> 38);
+    }
+}
@@ -0,0 +1,52 @@
+package com.kdocke.fastjson.parser;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 用 Vector API (jdk.incubator.vector) 分类 64 字节的块
+ * 一次比较 SPECIES 个字节 (AVX2 上 32 个, AVX-512 上 64 个), 比较得到的掩码直接转成位图。
+ * 只在 java 17 以上编译到 META-INF/versions/17, 运行时需要 --add-modules jdk.incubator.vector,
+ * 否则加载失败, StructuralIndex 退回逐字节实现
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 5:56
+ */
+final class VectorStructuralClassifier implements StructuralClassifier {
+
+    private final static VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() <= 64 //
+        ? ByteVector.SPECIES_PREFERRED : ByteVector.SPECIES_512;
+
+    VectorStructuralClassifier(){
+        /** 硬件向量不足 256 位时不比逐字节扫描快 */
+        if (SPECIES.length() < 32) {
+            throw new UnsupportedOperationException(SPECIES.toString());
+        }
+    }
+
+    public void classify(byte[] block, int off, long[] masks) {
+        long quote = 0, backslash = 0, op = 0, whitespace = 0;
+        for (int i = 0; i < 64; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, block, off + i);
+
+            quote |= v.eq((byte) '"').toLong() << i;
+            backslash |= v.eq((byte) '\\').toLong() << i;
+
+            /** '[' | 0x20 == '{', ']' | 0x20 == '}' */
+            ByteVector lower = v.or((byte) 0x20);
+            op |= lower.eq((byte) '{').or(lower.eq((byte) '}')).or(v.eq((byte) ':')).or(v.eq((byte) ',')).toLong() << i;
+
+            /** 空白是 ' ' 和 [0x08, 0x0D] 中除了 0x0B 以外的字节, 有符号比较时 0x80 以上的字节都是负数 */
+            VectorMask<Byte> control = v.compare(VectorOperators.GE, (byte) 0x08) //
+                .and(v.compare(VectorOperators.LE, (byte) 0x0D)) //
+                .andNot(v.eq((byte) 0x0B));
+            whitespace |= control.or(v.eq((byte) ' ')).toLong() << i;
+        }
+
+        masks[QUOTE] = quote;
+        masks[BACKSLASH] = backslash;
+        masks[OPERATOR] = op;
+        masks[WHITESPACE] = whitespace;
+    }
+}
@@ -0,0 +1,34 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.parser.AsyncJSONParser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:14
+ */
+public class AsyncParseTest {
+
+    public static void main(String[] args) {
+        String json = "{\"name\":\"狄仁杰\",\"type\":\"射手\",\"ability\":[\"六令追凶\",\"逃脱\",\"王朝密令\"],\"history\":{\"DOB\":630,\"DOD\":700,\"position\":\"宰相\",\"dynasty\":\"唐朝\"}}\n[1,2,3]\n";
+
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        AsyncJSONParser parser = new AsyncJSONParser();
+
+        // 每次只喂 5 个字节, 模拟 TCP 分片, 多字节字符也会被切开
+        for (int i = 0; i < bytes.length; i += 5) {
+            parser.feed(ByteBuffer.wrap(bytes, i, Math.min(5, bytes.length - i)));
+
+            while (parser.hasNext()) {
+                System.out.println(parser.next());
+            }
+        }
+
+        parser.endOfInput();
+        System.out.println(parser.hasNext());
+    }
+
+}
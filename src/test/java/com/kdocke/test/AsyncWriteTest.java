@@ -0,0 +1,77 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONObject;
+import com.kdocke.fastjson.serializer.AsyncJSONWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 5:09
+ */
+public class AsyncWriteTest {
+
+    public static void main(String[] args) throws Exception {
+        JSONArray array = new JSONArray();
+        for (int i = 0; i < 20000; ++i) {
+            JSONObject object = new JSONObject();
+            object.put("id", i);
+            object.put("name", "中文-" + i);
+            object.put("price", i * 0.25);
+            array.add(object);
+        }
+        byte[] bytes = JSON.toJSONBytes(array);
+
+        /** 文件 */
+        File file = File.createTempFile("async", ".json");
+        file.deleteOnExit();
+        AsynchronousFileChannel fileChannel = AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        long fileWritten = AsyncJSONWriter.write(array, fileChannel, 0).get();
+        fileChannel.close();
+        System.out.println(fileWritten + " " + Arrays.equals(bytes, Files.readAllBytes(file.toPath())));
+
+        /** socket */
+        AsynchronousServerSocketChannel server = AsynchronousServerSocketChannel.open()
+                .bind(new InetSocketAddress("127.0.0.1", 0));
+        AsynchronousSocketChannel client = AsynchronousSocketChannel.open();
+        client.connect(server.getLocalAddress()).get();
+        Future<AsynchronousSocketChannel> accepted = server.accept();
+        AsynchronousSocketChannel peer = accepted.get();
+
+        /** 一边写一边读, 不依赖 socket 缓冲区的大小 */
+        Future<Long> socketWritten = AsyncJSONWriter.write(array, client).thenApply(n -> {
+            try {
+                client.shutdownOutput();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return n;
+        });
+
+        InputStream in = Channels.newInputStream(peer);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[8192];
+        for (int n; (n = in.read(b)) != -1;) {
+            out.write(b, 0, n);
+        }
+        System.out.println(socketWritten.get() + " " + Arrays.equals(bytes, out.toByteArray()));
+
+        peer.close();
+        client.close();
+        server.close();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.parser.DefaultJSONParser;
+import com.kdocke.fastjson.parser.JSONByteBufferScanner;
+import com.kdocke.fastjson.parser.ParserConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 6:55
+ */
+public class ByteBufferParseTest {
+
+    public static void main(String[] args) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            json.append("{\"name\":\"狄仁杰 \\\"").append(i).append("\\\" é😀\",\"value\":").append(i * 12345.678)
+                .append(",\"长长长的键名称\":[true,false,null,").append(Long.MAX_VALUE - i).append("]},");
+        }
+        json.append("\"结束😀\"]");
+        String text = json.toString();
+        String expect = JSON.parse(text).toString();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        // 堆外 ByteBuffer, 从 position 开始解析
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3);
+        direct.put(new byte[] {' ', ' ', ' '}).put(bytes).flip().position(3);
+        System.out.println(expect.equals(JSON.parse(direct).toString()) + " " + direct.position());
+
+        Path path = Files.createTempFile("fastjson", ".json");
+        try {
+            Files.write(path, bytes);
+            System.out.println(expect.equals(JSON.parse(path).toString()));
+
+            // 很小的映射窗口: 多字节字符、数字、字符串和键都会跨过窗口边界
+            boolean same = true;
+            for (int windowSize = 4; windowSize <= 64; windowSize++) {
+                same &= expect.equals(parse(path, windowSize).toString());
+            }
+            System.out.println(same);
+
+            // 后面窗口中的非法 UTF-8, 错误位置是文件中的位置
+            byte[] prefix = "[\"狄仁杰\",\"a".getBytes(StandardCharsets.UTF_8);
+            byte[] malformed = Arrays.copyOf(prefix, prefix.length + 3);
+            malformed[prefix.length] = (byte) 0xFF;
+            malformed[prefix.length + 1] = '"';
+            malformed[prefix.length + 2] = ']';
+            Files.write(path, malformed);
+            try {
+                parse(path, 5);
+            } catch (JSONException e) {
+                System.out.println(e.getMessage());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static Object parse(Path path, int windowSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        DefaultJSONParser parser = new DefaultJSONParser(path, new JSONByteBufferScanner(channel, windowSize, JSON.DEFAULT_PARSER_FEATURE), ParserConfig.getGlobalInstance());
+        Object value;
+        try {
+            value = parser.parse();
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        parser.close();
+        return value;
+    }
+
+}
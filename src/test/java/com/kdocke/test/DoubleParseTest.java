@@ -0,0 +1,25 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:42
+ */
+public class DoubleParseTest {
+
+    public static void main(String[] args) {
+        // 经纬度、科学计数法、超过 19 位有效数字(回退到 Double.parseDouble)、非规格化数
+        String json = "[116.3974589,39.9087243,-0.25e3,1.7976931348623157e308,3.14159265358979323846264338327950288,4.9e-324,0.1,1e23]";
+
+        Object value = JSON.parse(json);
+        System.out.println(value);
+
+        String[] numbers = json.substring(1, json.length() - 1).split(",");
+        for (int i = 0; i < numbers.length; i++) {
+            Object parsed = JSON.parse(numbers[i]);
+            System.out.println(numbers[i] + " -> " + parsed + " " + parsed.equals(Double.parseDouble(numbers[i])));
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.serializer.SerializeWriter;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:51
+ */
+public class DoubleWriteTest {
+
+    public static void main(String[] args) {
+        JSONArray array = new JSONArray();
+        // 整数、普通小数、科学计数法、JDK 8 的 Double.toString 不是最短表示的 2.0E-3 和 1.0E23、非规格化数
+        double[] values = { 100, 0.1, 116.3974589, -1.5e-7, 2.0E-3, 1.0E23, Double.MIN_VALUE, Double.MAX_VALUE, -0.0 };
+        for (double value : values) {
+            array.add(value);
+        }
+        array.add(3.14f);
+        array.add(1.0E10f);
+        System.out.println(array);
+
+        // 固定小数位数
+        SerializeWriter out = new SerializeWriter();
+        out.writeDouble(1.005, 2);
+        out.write(',');
+        out.writeDouble(1.5, 2);
+        out.write(',');
+        out.writeDouble(-1234.5678, 0);
+        System.out.println(out.toString());
+        out.close();
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONObject;
+import com.kdocke.fastjson.serializer.SerializerFeature;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 5:15
+ */
+public class EscapeWriteTest {
+
+    public static void main(String[] args) throws Exception {
+        JSONObject object = new JSONObject();
+        object.put("text", "say \"hi\"\n\tC:\\temp\u0001");
+        object.put("html", "<a href=\"/x\">(中文)</a>");
+        object.put("key\"", "ok");
+
+        String json = JSON.toJSONString(object);
+        System.out.println(json);
+        System.out.println(json.equals(new String(JSON.toJSONBytes(object), "UTF-8")));
+        System.out.println(json.equals(JSON.toJSONString(JSON.parse(json))));
+
+        System.out.println(JSON.toJSONString(object, SerializerFeature.WriteSlashAsSpecial));
+        System.out.println(JSON.toJSONString(object, SerializerFeature.BrowserSecure));
+        System.out.println(JSON.toJSONString(object, SerializerFeature.BrowserCompatible));
+        System.out.println(new String(JSON.toJSONBytes(object, SerializerFeature.BrowserCompatible), "UTF-8"));
+        System.out.println(JSON.toJSONString(object, SerializerFeature.DisableCheckSpecialChar));
+
+        /** 跨段的长字符串 */
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            buf.append("line ").append(i).append("\r\n");
+        }
+        String text = buf.toString();
+        System.out.println(text.equals(JSON.parse(JSON.toJSONString(text))));
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.parser.StructuralIndex;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:38
+ */
+public class IndexedParseTest {
+
+    public static void main(String[] args) {
+        String json = "{\"name\":\"狄仁杰\",\"type\":\"射手\",\"quote\":\"\\\"{[,:]}\\\\\",\"ability\":[\"六令追凶\",\"逃脱\",\"王朝密令\"],\"history\":{\"DOB\":630,\"DOD\":700,\"position\":\"宰相\",\"dynasty\":\"唐朝\"}}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        // 第一阶段: 结构位置, 字符串中的 {[,:]} 不在其中
+        StructuralIndex index = StructuralIndex.build(bytes, 0, bytes.length);
+        StringBuilder structurals = new StringBuilder();
+        for (int i = 0; i < index.count(); i++) {
+            structurals.append((char) bytes[index.position(i)]);
+        }
+        System.out.println(StructuralIndex.VECTOR + " " + structurals);
+
+        // 第二阶段: 按索引构造对象
+        System.out.println(JSON.parseIndexed(bytes));
+        System.out.println(JSON.parseIndexed(bytes).toString().equals(JSON.parse(bytes).toString()));
+
+        try {
+            JSON.parseIndexed("[1x]".getBytes(StandardCharsets.UTF_8));
+        } catch (JSONException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONReader;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:45
+ */
+public class IntegerParseTest {
+
+    public static void main(String[] args) {
+        // 小整数、8 位以上的整数(字节输入一次读取 8 位)、long 边界、超过 long 的整数
+        String json = "[0,-7,1000,12345678,-1234567890123,9223372036854775807,-9223372036854775808,123456789012345678901234]";
+
+        JSONArray array = (JSONArray) JSON.parse(json.getBytes());
+        for (Object value : array) {
+            System.out.println(value.getClass().getSimpleName() + " " + String.valueOf(value));
+        }
+
+        // 缓存的小整数是同一个对象
+        System.out.println(array.get(2) == ((JSONArray) JSON.parse("[1000]")).get(0));
+
+        JSONReader reader = new JSONReader("[42,-2147483648]");
+        reader.beginArray();
+        System.out.println(reader.nextInt() + " " + reader.nextInt());
+        reader.endArray();
+        reader.close();
+    }
+
+}
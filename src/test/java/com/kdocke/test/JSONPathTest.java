@@ -0,0 +1,31 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONPath;
+
+import java.util.Arrays;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:23
+ */
+public class JSONPathTest {
+
+    public static void main(String[] args) {
+        String json = "{\"orders\":[{\"id\":1,\"lines\":[{\"sku\":\"A-1\",\"qty\":5},{\"sku\":\"B-2\",\"qty\":12}]},"
+                + "{\"id\":2,\"lines\":[{\"sku\":\"C-3\",\"qty\":30}]}],\"meta\":{\"ts\":\"2018-10-12\"}}";
+
+        JSONPath sku = JSONPath.compile("$.orders[*].lines[?(@.qty > 10)].sku");
+        System.out.println(sku.extract(json));
+
+        // 多个路径一次扫描; 只有确定路径时, 找到之后就不再读取剩余内容
+        Object[] values = JSONPath.extract(json, JSONPath.compile("$.orders[0].id"), JSONPath.compile("$.meta.ts"));
+        System.out.println(Arrays.toString(values));
+
+        // 在已经解析好的对象上反复求值, 编译结果可以复用
+        Object root = JSON.parse(json);
+        System.out.println(JSONPath.compile("$..sku").eval(root));
+        System.out.println(JSONPath.compilePointer("/orders/1/lines/0/qty").eval(root));
+    }
+
+}
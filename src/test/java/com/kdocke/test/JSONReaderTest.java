@@ -0,0 +1,39 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSONReader;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:16
+ */
+public class JSONReaderTest {
+
+    public static void main(String[] args) {
+        String json = "{\"name\":\"狄仁杰\",\"type\":\"射手\",\"ability\":[\"六令追凶\",\"逃脱\",\"王朝密令\"],\"history\":{\"DOB\":630,\"DOD\":700,\"position\":\"宰相\",\"dynasty\":\"唐朝\"}}";
+
+        JSONReader reader = new JSONReader(json);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("name".equals(name)) {
+                System.out.println(name + " : " + reader.nextString());
+            } else if ("history".equals(name)) {
+                // 只读取 history 中的 DOB, 其余字段跳过
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if ("DOB".equals(reader.nextName())) {
+                        System.out.println("DOB : " + reader.nextLong());
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        reader.close();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONTape;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:30
+ */
+public class JSONTapeTest {
+
+    public static void main(String[] args) {
+        String json = "{\"name\":\"狄仁杰\",\"type\":\"射手\",\"ability\":[\"六令追凶\",\"逃脱\",\"王朝密令\"],\"history\":{\"DOB\":630,\"DOD\":700,\"position\":\"宰相\",\"dynasty\":\"唐朝\"},\"rate\":0.75}";
+
+        JSONTape tape = JSON.parseTape(json);
+        System.out.println(tape.tapeLength() + " " + tape.stringsLength());
+
+        // 游标导航, 跳过 ability 数组是 O(1) 的
+        JSONTape.Cursor cursor = tape.cursor();
+        System.out.println(cursor.size());
+
+        JSONTape.Cursor history = cursor.copy();
+        history.field("history");
+        JSONTape.Cursor dob = history.copy();
+        dob.field("DOB");
+        System.out.println(dob.longValue());
+
+        JSONTape.Cursor ability = cursor.copy();
+        ability.field("ability");
+        ability.element(2);
+        System.out.println(ability.stringValue());
+
+        // 遍历对象
+        if (history.first()) {
+            do {
+                System.out.println(history.key() + " = " + history.value());
+            } while (history.next());
+        }
+
+        JSONTape.Cursor rate = cursor.copy();
+        rate.field("rate");
+        System.out.println(rate.doubleValue());
+
+        // 直接从纸带序列化
+        System.out.println(tape);
+
+        // 需要时构造成 JSONObject
+        System.out.println(cursor.value());
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONObject;
+import com.kdocke.fastjson.serializer.JSONSerializer;
+import com.kdocke.fastjson.serializer.SerializeWriter;
+
+import java.io.StringWriter;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:56
+ */
+public class LargeWriteTest {
+
+    public static void main(String[] args) {
+        JSONArray rows = new JSONArray();
+        for (int i = 0; i < 100000; i++) {
+            JSONObject row = new JSONObject();
+            row.put("id", i);
+            row.put("name", "row-" + i);
+            row.put("score", i / 8.0);
+            rows.add(row);
+        }
+
+        // 超过一个段的文档在内存中合并
+        String text = rows.toJSONString();
+        System.out.println(text.length() + " " + ((JSONArray) JSON.parse(text)).size());
+
+        // 有 writer 时写满的段直接输出
+        StringWriter writer = new StringWriter();
+        SerializeWriter out = new SerializeWriter(writer);
+        new JSONSerializer(out).write(rows);
+        out.close();
+        System.out.println(writer.toString().equals(text));
+    }
+
+}
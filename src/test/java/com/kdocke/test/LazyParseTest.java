@@ -0,0 +1,24 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONObject;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:26
+ */
+public class LazyParseTest {
+
+    public static void main(String[] args) {
+        String json = "{\"type\":\"射手\",\"name\":\"狄仁杰\",\"ability\":[\"六令追凶\",\"逃脱\",\"王朝密令\"],\"history\":{\"DOB\":630,\"DOD\":700,\"position\":\"宰相\",\"dynasty\":\"唐朝\"}}";
+
+        // 只建立第一层索引, ability、history 在访问之前不会被扫描
+        JSONObject hero = (JSONObject) JSON.parseLazy(json);
+        System.out.println(hero.get("type"));
+
+        JSONObject history = (JSONObject) hero.get("history");
+        System.out.println(history.get("dynasty"));
+        System.out.println(hero);
+    }
+
+}
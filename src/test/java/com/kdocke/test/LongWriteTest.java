@@ -0,0 +1,32 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONObject;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:53
+ */
+public class LongWriteTest {
+
+    public static void main(String[] args) {
+        JSONArray array = new JSONArray();
+        array.add(65536);
+        array.add(Integer.MIN_VALUE);
+        array.add(1234567890123456789L);
+        array.add(Long.MIN_VALUE);
+        array.add((short) -12);
+        array.add((byte) 7);
+        System.out.println(array);
+
+        JSONObject object = new JSONObject();
+        object.put("id", 9007199254740993L);
+        object.put("hits", new AtomicLong(42));
+        object.put("retries", new AtomicInteger(3));
+        System.out.println(object);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONNumber;
+import com.kdocke.fastjson.JSONObject;
+import com.kdocke.fastjson.parser.AsyncJSONParser;
+import com.kdocke.fastjson.parser.NumberMode;
+import com.kdocke.fastjson.parser.ParserConfig;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:47
+ */
+public class NumberModeTest {
+
+    public static void main(String[] args) {
+        String json = "{\"price\":0.1000,\"total\":123456789.123456789123,\"count\":42,\"big\":1.5e300}";
+
+        for (NumberMode mode : NumberMode.values()) {
+            ParserConfig config = new ParserConfig();
+            config.setNumberMode(mode);
+
+            JSONObject object = (JSONObject) JSON.parse(json, config, JSON.DEFAULT_PARSER_FEATURE);
+            System.out.println(mode + " " + object);
+            System.out.println(object.get("price").getClass().getSimpleName() + " " + object.get("total").getClass().getSimpleName());
+
+            // 增量解析器使用相同的配置
+            AsyncJSONParser parser = new AsyncJSONParser(config);
+            byte[] bytes = json.getBytes();
+            parser.feed(bytes, 0, bytes.length);
+            JSONObject async = (JSONObject) parser.next();
+            System.out.println(async.get("price").getClass().getSimpleName() + " " + async.get("total").getClass().getSimpleName());
+        }
+
+        // 延迟转换, 结果被缓存
+        ParserConfig config = new ParserConfig();
+        config.setNumberMode(NumberMode.LAZY);
+        JSONObject object = (JSONObject) JSON.parse(json.getBytes(), 0, json.length(), config, JSON.DEFAULT_PARSER_FEATURE);
+        JSONNumber total = (JSONNumber) object.get("total");
+        System.out.println(total.doubleValue() + " " + total.decimalValue() + " " + total.intValue() + " " + total.isInteger());
+        System.out.println(new JSONNumber("1.0").equals(new JSONNumber("1")));
+    }
+
+}
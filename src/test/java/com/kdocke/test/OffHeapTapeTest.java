@@ -0,0 +1,40 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONArena;
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.JSONTape;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:31
+ */
+public class OffHeapTapeTest {
+
+    public static void main(String[] args) {
+        String json = "{\"name\":\"狄仁杰\",\"type\":\"射手\",\"ability\":[\"六令追凶\",\"逃脱\",\"王朝密令\"],\"history\":{\"DOB\":630,\"DOD\":700,\"position\":\"宰相\",\"dynasty\":\"唐朝\"}}";
+
+        JSONArena arena = new JSONArena();
+
+        // 文档保存在堆外内存中, 字符串在访问时解码
+        JSONTape tape = JSON.parseTape(json, arena);
+        System.out.println(arena.allocated());
+
+        JSONTape.Cursor position = tape.cursor();
+        position.field("history");
+        position.field("position");
+        System.out.println(position.stringValue());
+
+        System.out.println(tape);
+        System.out.println(tape.cursor().value());
+
+        // 关闭之后内存被释放, 不能再访问
+        arena.close();
+        try {
+            tape.cursor().value();
+        } catch (JSONException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+}
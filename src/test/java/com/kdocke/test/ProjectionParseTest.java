@@ -0,0 +1,22 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.parser.Projection;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:21
+ */
+public class ProjectionParseTest {
+
+    public static void main(String[] args) {
+        String json = "{\"user\":{\"id\":1008,\"name\":\"狄仁杰\",\"ability\":[\"六令追凶\",\"逃脱\"]},"
+                + "\"items\":[{\"sku\":\"A-1\",\"qty\":1,\"detail\":{\"color\":\"red\"}},{\"sku\":\"B-2\",\"qty\":3}],"
+                + "\"meta\":{\"ts\":\"2018-10-11 14:26\",\"trace\":[1,2,3]}}";
+
+        // 只构造 user.id、items 中每个元素的 sku 和 meta.ts, 其余字段直接跳过
+        Projection projection = Projection.of("user.id", "items[*].sku", "meta.ts");
+        System.out.println(JSON.parse(json, projection));
+    }
+
+}
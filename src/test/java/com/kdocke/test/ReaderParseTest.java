@@ -0,0 +1,35 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:12
+ */
+public class ReaderParseTest {
+
+    public static void main(String[] args) {
+        // 超过一个字符窗口(16K)的输入, 中间包含一个比窗口还长的字符串
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < 2000; i++) {
+            json.append("  {\"id\": ").append(i).append(", \"name\": \"狄仁杰\", \"ability\": [\"六令追凶\", \"逃脱\"]},\n");
+        }
+        json.append("  \"").append(new String(new char[40000]).replace('\0', 'x')).append("\"\n]");
+
+        JSONArray array = (JSONArray) JSON.parse(new StringReader(json.toString()));
+        System.out.println(array.size());
+        System.out.println(array.get(1999));
+        System.out.println(((String) array.get(2000)).length());
+
+        byte[] bytes = "{\"name\":\"狄仁杰\",\"type\":\"射手\"}".getBytes(StandardCharsets.UTF_8);
+        JSONObject parse = (JSONObject) JSON.parse(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+        System.out.println(parse);
+    }
+
+}
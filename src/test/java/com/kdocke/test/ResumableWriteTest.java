@@ -0,0 +1,67 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONObject;
+import com.kdocke.fastjson.serializer.ResumableJSONSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.Arrays;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 5:04
+ */
+public class ResumableWriteTest {
+
+    public static void main(String[] args) throws Exception {
+        JSONArray array = new JSONArray();
+        for (int i = 0; i < 1000; ++i) {
+            JSONObject object = new JSONObject();
+            object.put("id", i);
+            object.put("name", "中文-" + i);
+            object.put("price", i * 0.25);
+            object.put("tags", new JSONArray());
+            array.add(object);
+        }
+        byte[] bytes = JSON.toJSONBytes(array);
+
+        /** 每次只填 7 个字节, 使用堆外内存 */
+        ResumableJSONSerializer serializer = new ResumableJSONSerializer(array);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(7);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int calls = 0;
+        boolean done;
+        do {
+            done = serializer.fill(buffer);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer.get());
+            }
+            buffer.clear();
+            calls++;
+        } while (!done);
+        serializer.close();
+        System.out.println(calls + " " + Arrays.equals(bytes, out.toByteArray()));
+
+        ByteArrayOutputStream channelOut = new ByteArrayOutputStream();
+        JSON.writeTo(array, Channels.newChannel(channelOut));
+        System.out.println(Arrays.equals(bytes, channelOut.toByteArray()));
+
+        // 非阻塞的 channel 不能直接写
+        Pipe pipe = Pipe.open();
+        pipe.sink().configureBlocking(false);
+        try {
+            JSON.writeTo(array, pipe.sink());
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        } finally {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+}
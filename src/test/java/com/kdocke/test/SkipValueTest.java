@@ -0,0 +1,164 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONException;
+import com.kdocke.fastjson.parser.JSONByteBufferScanner;
+import com.kdocke.fastjson.parser.JSONLexer;
+import com.kdocke.fastjson.parser.JSONReaderScanner;
+import com.kdocke.fastjson.parser.JSONScanner;
+import com.kdocke.fastjson.parser.JSONToken;
+import com.kdocke.fastjson.parser.JSONUTF8Scanner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 7:10
+ */
+public class SkipValueTest {
+
+    private static final String[] NAMES = {"String", "String offset", "byte[] offset", "Reader", "ByteBuffer", "FileChannel"};
+
+    private static Path path;
+
+    public static void main(String[] args) throws IOException {
+        path = Files.createTempFile("fastjson", ".json");
+        try {
+            // 跳过之后应该停在 ',' 上, 再读到 "next"
+            String[] values = {
+                "{\"a\":[1,{\"b\":\"}]\"}],\"c\":{\"d\":[[]]}}",
+                "[ \"x\\\"]\", {\"k\":\"[{\"}, [1,[2,[3]]] ]",
+                "\"a\\\\\\\\\\\"b\"",
+                "\"a\\\\\\\\\"",
+                "\"\\\\\"",
+                "\"狄仁杰😀\\\"}\"",
+                "{\"狄仁杰\":[\"😀\\\\\",{}]}",
+                " \n\t[1, 2]",
+                "-12.5e3",
+                "true",
+                "null",
+            };
+            for (String value : values) {
+                System.out.println(value.trim() + " " + skip(value, false));
+                if (value.trim().charAt(0) == '{' || value.trim().charAt(0) == '[') {
+                    System.out.println(value.trim() + " nested " + skip(value, true));
+                }
+            }
+
+            // 没有结束的输入: 抛出异常, 不会越过扫描范围读到后面的内容
+            String[] unclosed = {
+                "{\"a\":[1,2",
+                "[\"a\",{\"b\":\"c\"}",
+                "\"abc\\\"",
+                "\"abc\\\\",
+                "[\"狄仁杰",
+                "[",
+                "",
+                "   ",
+            };
+            for (String value : unclosed) {
+                System.out.println(value + " " + error(value));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * 用每一种扫描器跳过 value, 检查下一个 token 和它的位置
+     * @param nested true 时先读出开始括号, 再调用 skipNested
+     */
+    private static String skip(String value, boolean nested) throws IOException {
+        String text = value + " ,\"next\"";
+        int comma = text.lastIndexOf(',');
+        int charPos = comma;
+        int bytePos = text.substring(0, comma).getBytes(StandardCharsets.UTF_8).length;
+        int[] expectPos = {charPos, charPos + 2, bytePos + 2, charPos, bytePos, -1};
+
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < NAMES.length; i++) {
+            JSONLexer lexer = lexer(i, text, "");
+            try {
+                if (nested) {
+                    lexer.nextToken();
+                    lexer.skipNested(1);
+                } else {
+                    lexer.skipValue();
+                }
+                lexer.nextToken();
+                int token = lexer.token();
+                int pos = lexer.pos();
+                lexer.nextToken();
+                boolean ok = token == JSONToken.COMMA
+                    && (expectPos[i] == -1 || pos == expectPos[i])
+                    && lexer.token() == JSONToken.LITERAL_STRING && "next".equals(lexer.stringVal());
+                if (!ok) {
+                    result.append(NAMES[i]).append(": ").append(JSONToken.name(token)).append(" at ").append(pos).append(' ');
+                }
+            } finally {
+                lexer.close();
+            }
+        }
+        return result.length() == 0 ? "true" : result.toString();
+    }
+
+    /**
+     * 用每一种扫描器跳过没有结束的 value, 返回不同的错误信息; 跳过之后应该停在 EOI
+     */
+    private static Set<String> error(String value) throws IOException {
+        Set<String> messages = new LinkedHashSet<String>();
+        for (int i = 0; i < NAMES.length; i++) {
+            // 扫描范围外的内容可以把 value 补完整, 不应该被读到
+            JSONLexer lexer = lexer(i, value, "\"]}]}");
+            try {
+                lexer.skipValue();
+                messages.add(NAMES[i] + ": no error");
+            } catch (JSONException e) {
+                messages.add(e.getMessage() + (lexer.getCurrent() == JSONLexer.EOI ? "" : ", ch " + lexer.getCurrent()));
+            } finally {
+                lexer.close();
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * @param suffix 只有能限定扫描范围的扫描器才追加在 text 后面
+     */
+    private static JSONLexer lexer(int kind, String text, String suffix) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        switch (kind) {
+            case 0:
+                return new JSONScanner(text);
+            case 1:
+                return new JSONScanner("[[" + text + suffix, 2, text.length(), JSON.DEFAULT_PARSER_FEATURE);
+            case 2: {
+                byte[] wrapped = ("[[" + text + suffix).getBytes(StandardCharsets.UTF_8);
+                return new JSONUTF8Scanner(wrapped, 2, bytes.length, JSON.DEFAULT_PARSER_FEATURE);
+            }
+            case 3:
+                return new JSONReaderScanner(new StringReader(text));
+            case 4: {
+                byte[] wrapped = ("[[" + text + suffix).getBytes(StandardCharsets.UTF_8);
+                ByteBuffer buffer = ByteBuffer.wrap(wrapped, 2, bytes.length);
+                return new JSONByteBufferScanner(buffer);
+            }
+            default: {
+                // 很小的窗口, 字符串和括号都会跨过窗口边界
+                Files.write(path, bytes);
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+                return new JSONByteBufferScanner(channel, 4, JSON.DEFAULT_PARSER_FEATURE);
+            }
+        }
+    }
+
+}
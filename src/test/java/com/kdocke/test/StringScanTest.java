@@ -0,0 +1,44 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:35
+ */
+public class StringScanTest {
+
+    public static void main(String[] args) {
+        // 长的普通字符段批量跳过, 转义字符和多字节字符之后继续批量跳过
+        String json = "{\"description\":\"A durable stainless steel bottle, \\\"double wall\\\" insulation\\n保温 24 小时, keeps drinks cold 😀 all day\",\"key\\u0041\":\"tail\"}";
+
+        Object fromString = JSON.parse(json);
+        Object fromBytes = JSON.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        System.out.println(fromString);
+        System.out.println(fromBytes);
+        System.out.println(fromString.toString().equals(fromBytes.toString()));
+
+        // 大量转义的长字符串: 每次转义之后不应该重新查找到结束引号, 耗时随长度线性增长
+        for (int escapes = 20000; escapes <= 160000; escapes *= 2) {
+            StringBuilder buf = new StringBuilder("{\"k\":\"");
+            for (int i = 0; i < escapes; i++) {
+                buf.append("abcdefgh\\n");
+            }
+            buf.append("\"}");
+            String text = buf.toString();
+
+            long start = System.currentTimeMillis();
+            String value = (String) ((JSONObject) JSON.parse(text)).get("k");
+            long parseMillis = System.currentTimeMillis() - start;
+            start = System.currentTimeMillis();
+            JSON.parseLazy(text).toString();
+            long lazyMillis = System.currentTimeMillis() - start;
+            System.out.println(escapes + " escapes: " + (value.length() == escapes * 9) + " " + parseMillis + " ms, lazy " + lazyMillis + " ms");
+        }
+    }
+
+}
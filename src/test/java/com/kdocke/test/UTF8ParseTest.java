@@ -0,0 +1,31 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:10
+ */
+public class UTF8ParseTest {
+
+    public static void main(String[] args) {
+        String json = "{\"name\":\"狄仁杰\",\"type\":\"射手\",\"ability\":[\"六令追凶\",\"逃脱\",\"王朝密令\"],\"history\":{\"DOB\":630,\"DOD\":700,\"position\":\"宰相\",\"dynasty\":\"唐朝\"},\"emoji\":\"😀\\t\"}";
+
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        JSONObject parse = (JSONObject) JSON.parse(bytes);
+        System.out.println(parse);
+        System.out.println(parse.toString().equals(JSON.parse(json).toString()));
+
+        // 只解析缓冲区中的一段
+        byte[] buffer = new byte[bytes.length + 8];
+        System.arraycopy(bytes, 0, buffer, 4, bytes.length);
+        JSONObject slice = (JSONObject) JSON.parse(buffer, 4, bytes.length);
+        System.out.println(slice.get("history"));
+        System.out.println(slice.get("emoji"));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.JSONArray;
+import com.kdocke.fastjson.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:57
+ */
+public class UTF8WriteTest {
+
+    public static void main(String[] args) throws Exception {
+        JSONObject object = new JSONObject();
+        object.put("city", "Zürich");
+        object.put("name", "中文");
+        object.put("emoji", "😀");
+        object.put("ok", true);
+        object.put("none", null);
+        JSONArray values = new JSONArray();
+        values.add(1234567890123L);
+        values.add(-0.5);
+        object.put("values", values);
+
+        byte[] bytes = JSON.toJSONBytes(object);
+        System.out.println(new String(bytes, "UTF-8"));
+        System.out.println(Arrays.equals(bytes, JSON.toJSONString(object).getBytes("UTF-8")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JSON.writeTo(object, out);
+        System.out.println(Arrays.equals(bytes, out.toByteArray()));
+    }
+
+}
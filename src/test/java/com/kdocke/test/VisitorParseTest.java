@@ -0,0 +1,46 @@
+package com.kdocke.test;
+
+import com.kdocke.fastjson.JSON;
+import com.kdocke.fastjson.parser.JSONVisitor;
+
+import java.math.BigInteger;
+
+/**
+ * @author agent[agent@local]
+ * @create 2026/10/17 - 4:18
+ */
+public class VisitorParseTest {
+
+    public static void main(String[] args) {
+        String json = "{\"host\":\"web-01\",\"metrics\":[{\"name\":\"cpu\",\"value\":0.75},{\"name\":\"requests\",\"value\":1024},{\"name\":\"errors\",\"value\":3}]}";
+
+        // 边解析边累加, 不构造 JSONObject, 数字不装箱
+        final double[] sum = new double[1];
+        JSON.parse(json, new JSONVisitor() {
+            public void onObjectStart() {}
+            public void onObjectEnd() {}
+            public void onArrayStart() {}
+            public void onArrayEnd() {}
+            public void onKey(char[] buf, int off, int len, String symbol) {
+                System.out.println("key : " + symbol);
+            }
+            public void onString(char[] buf, int off, int len) {
+                System.out.println("string : " + new String(buf, off, len));
+            }
+            public void onLong(long value) {
+                sum[0] += value;
+            }
+            public void onBigInteger(BigInteger value) {
+                sum[0] += value.doubleValue();
+            }
+            public void onDouble(double value) {
+                sum[0] += value;
+            }
+            public void onBoolean(boolean value) {}
+            public void onNull() {}
+        });
+
+        System.out.println("sum : " + sum[0]);
+    }
+
+}